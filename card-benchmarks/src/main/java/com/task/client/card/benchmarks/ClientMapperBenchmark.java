@@ -0,0 +1,52 @@
+package com.task.client.card.benchmarks;
+
+import com.task.client.card.app.dto.ClientDTO;
+import com.task.client.card.app.dto.ClientView;
+import com.task.client.card.app.dto.NewCardRequest;
+import com.task.client.card.app.entity.Client;
+import com.task.client.card.app.mapper.ClientMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the mapping from request DTOs to the client entity and from client views to card requests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientMapperBenchmark {
+
+    private ClientDTO clientDTO;
+
+    private ClientView client;
+
+    @Setup
+    public void setUp() {
+        clientDTO = Fixtures.clientDTO();
+        client = new ClientView(1L, clientDTO.getFirstName(), clientDTO.getLastName(), clientDTO.getOib(),
+                clientDTO.getCardStatus(), 0L);
+    }
+
+    @Benchmark
+    public Client toClientEntity() {
+        return ClientMapper.toClientEntity(clientDTO);
+    }
+
+    @Benchmark
+    public NewCardRequest toNewCardRequestDto() {
+        return ClientMapper.toNewCardRequestDto(client);
+    }
+}
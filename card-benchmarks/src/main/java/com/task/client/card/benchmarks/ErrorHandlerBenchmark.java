@@ -0,0 +1,56 @@
+package com.task.client.card.benchmarks;
+
+import com.task.client.card.app.config.ExternalApiResponseErrorHandler;
+import com.task.client.card.app.exception.ExternalApiException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the mapping of card API error responses to {@link ExternalApiException} by
+ * {@link ExternalApiResponseErrorHandler#toException}, as done by the non-blocking client. The fallback case
+ * measures bodies that are not a JSON error response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorHandlerBenchmark {
+
+    @Param({"json", "fallback"})
+    private String body;
+
+    private ExternalApiResponseErrorHandler errorHandler;
+
+    private HttpStatusCode status;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        errorHandler = new ExternalApiResponseErrorHandler();
+        final boolean json = "json".equals(body);
+        status = json ? HttpStatus.BAD_REQUEST : HttpStatus.SERVICE_UNAVAILABLE;
+        bytes = (json ? Fixtures.ERROR_BODY : Fixtures.UNPARSABLE_ERROR_BODY).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public ExternalApiException toException() {
+        return errorHandler.toException(status, bytes);
+    }
+}
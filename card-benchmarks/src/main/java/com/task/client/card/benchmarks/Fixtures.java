@@ -0,0 +1,37 @@
+package com.task.client.card.benchmarks;
+
+import com.task.client.card.app.dto.ClientDTO;
+import com.task.client.card.app.dto.NewCardRequest;
+import com.task.client.card.app.enums.CardStatus;
+
+/**
+ * Sample payloads shared by the benchmarks.
+ */
+final class Fixtures {
+
+    static final String ERROR_BODY =
+            "{\"code\":\"400\",\"id\":\"bad-request-001\",\"description\":\"Invalid request format or data.\"}";
+
+    static final String UNPARSABLE_ERROR_BODY = "<html><body>Service Unavailable</body></html>";
+
+    private Fixtures() {
+    }
+
+    static ClientDTO clientDTO() {
+        final ClientDTO clientDTO = new ClientDTO();
+        clientDTO.setFirstName("Ana");
+        clientDTO.setLastName("Anić");
+        clientDTO.setOib("12345678903");
+        clientDTO.setCardStatus(CardStatus.ACCEPTED);
+        return clientDTO;
+    }
+
+    static NewCardRequest newCardRequest() {
+        final NewCardRequest newCardRequest = new NewCardRequest();
+        newCardRequest.setFirstName("Ana");
+        newCardRequest.setLastName("Anić");
+        newCardRequest.setOib("12345678903");
+        newCardRequest.setStatus(CardStatus.PENDING);
+        return newCardRequest;
+    }
+}
@@ -0,0 +1,82 @@
+package com.task.client.card.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.task.client.card.app.dto.ClientDTO;
+import com.task.client.card.app.dto.NewCardRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks Jackson (de)serialization of the incoming client payload and the outgoing card request.
+ * Readers and writers are created once, as Spring's message converters do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    private ObjectReader clientReader;
+
+    private ObjectWriter clientWriter;
+
+    private ObjectReader newCardRequestReader;
+
+    private ObjectWriter newCardRequestWriter;
+
+    private ClientDTO clientDTO;
+
+    private NewCardRequest newCardRequest;
+
+    private byte[] clientJson;
+
+    private byte[] newCardRequestJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        clientReader = objectMapper.readerFor(ClientDTO.class);
+        clientWriter = objectMapper.writerFor(ClientDTO.class);
+        newCardRequestReader = objectMapper.readerFor(NewCardRequest.class);
+        newCardRequestWriter = objectMapper.writerFor(NewCardRequest.class);
+        clientDTO = Fixtures.clientDTO();
+        newCardRequest = Fixtures.newCardRequest();
+        clientJson = clientWriter.writeValueAsBytes(clientDTO);
+        newCardRequestJson = newCardRequestWriter.writeValueAsBytes(newCardRequest);
+    }
+
+    @Benchmark
+    public ClientDTO readClient() throws Exception {
+        return clientReader.readValue(clientJson);
+    }
+
+    @Benchmark
+    public byte[] writeClient() throws JsonProcessingException {
+        return clientWriter.writeValueAsBytes(clientDTO);
+    }
+
+    @Benchmark
+    public NewCardRequest readNewCardRequest() throws Exception {
+        return newCardRequestReader.readValue(newCardRequestJson);
+    }
+
+    @Benchmark
+    public byte[] writeNewCardRequest() throws JsonProcessingException {
+        return newCardRequestWriter.writeValueAsBytes(newCardRequest);
+    }
+}
@@ -0,0 +1,52 @@
+package com.task.client.card.benchmarks;
+
+import com.task.client.card.app.validation.Oib;
+import com.task.client.card.app.validation.OibValidatorImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the OIB check digit validation run for every incoming client, and packing OIBs into longs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OibValidatorBenchmark {
+
+    /**
+     * A valid OIB, one failing the check digit and one failing the length check.
+     */
+    @Param({"12345678903", "12345678904", "1234567890"})
+    private String oib;
+
+    private OibValidatorImpl validator;
+
+    @Setup
+    public void setUp() {
+        validator = new OibValidatorImpl();
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return validator.isValid(oib, null);
+    }
+
+    @Benchmark
+    public long pack() {
+        return Oib.pack(oib);
+    }
+}
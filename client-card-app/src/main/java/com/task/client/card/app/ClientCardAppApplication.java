@@ -1,17 +1,25 @@
 package com.task.client.card.app;
 
 import com.task.client.card.app.config.ExternalApiResponseErrorHandler;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
-import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 /**
  * This class is responsible for bootstrapping the Spring Boot application.
  */
 @SpringBootApplication
-@EnableAsync
+@EnableScheduling
 public class ClientCardAppApplication {
 
     public static void main(final String[] args) {
@@ -19,16 +27,54 @@ public class ClientCardAppApplication {
     }
 
     /**
-     * Bean definition for {@link RestTemplate}, which is used for making HTTP requests
-     * to external APIs. This method also sets a custom error handler to process
-     * error responses from the external API.
+     * Connection pool shared by all requests to the card API.
+     * Pool metrics ({@code reactor.netty.connection.provider.*}, including pending acquisitions) are published
+     * to the global Micrometer registry.
      *
-     * @return a configured instance of {@link RestTemplate} with {@link ExternalApiResponseErrorHandler}
+     * @param maxConnections        maximum number of open connections
+     * @param pendingAcquireTimeout how long a request may wait for a free connection
+     * @param maxIdleTime           how long an idle connection is kept alive
+     * @return the connection provider
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider cardApiConnectionProvider(
+            final @Value("${card.api.pool.max-connections:200}") int maxConnections,
+            final @Value("${card.api.pool.pending-acquire-timeout:5s}") Duration pendingAcquireTimeout,
+            final @Value("${card.api.pool.max-idle-time:30s}") Duration maxIdleTime) {
+        return ConnectionProvider.builder("card-api")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * Bean definition for the {@link WebClient} used for making non-blocking HTTP requests to the
+     * external card API. Connections are pooled and kept alive, and every request is bounded by connect
+     * and response timeouts. Error responses are mapped by {@link ExternalApiResponseErrorHandler}.
+     *
+     * @param builder            the application's WebClient builder
+     * @param connectionProvider the card API connection pool
+     * @param connectTimeout     TCP connect timeout
+     * @param responseTimeout    maximum time to wait for a response after the request is sent
+     * @param http2              whether to offer HTTP/2 (negotiated via ALPN, falling back to HTTP/1.1)
+     * @return the configured WebClient
      */
     @Bean
-    public RestTemplate restTemplate() {
-        final RestTemplate restTemplate = new RestTemplate();
-        restTemplate.setErrorHandler(new ExternalApiResponseErrorHandler());
-        return restTemplate;
+    public WebClient cardApiWebClient(final WebClient.Builder builder,
+                                      final ConnectionProvider connectionProvider,
+                                      final @Value("${card.api.connect-timeout:2s}") Duration connectTimeout,
+                                      final @Value("${card.api.response-timeout:10s}") Duration responseTimeout,
+                                      final @Value("${card.api.http2:true}") boolean http2) {
+        final HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(responseTimeout)
+                .protocol(http2
+                        ? new HttpProtocol[]{HttpProtocol.H2, HttpProtocol.HTTP11}
+                        : new HttpProtocol[]{HttpProtocol.HTTP11});
+
+        return builder.clientConnector(new ReactorClientHttpConnector(httpClient)).build();
     }
 }
@@ -0,0 +1,197 @@
+package com.task.client.card.app.api;
+
+import com.task.client.card.app.exception.ConcurrencyLimitExceededException;
+import com.task.client.card.app.exception.ExternalApiException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Adaptive limit on concurrent card API calls using additive-increase/multiplicative-decrease (AIMD).
+ * Every successful call that completes within {@code card.api.concurrency.latency-threshold} while at least half
+ * of the limit is in use raises the limit by {@code 1/limit}, about one slot per round of calls; a call that is
+ * slower than the threshold, times out (including a {@code card.api.response-timeout} reported by the HTTP client),
+ * or is answered with 429 or 503 multiplies it by {@code card.api.concurrency.backoff-ratio}.
+ * The limit stays between {@code min-limit} and {@code max-limit}.
+ * Calls over the limit wait in a FIFO queue without blocking a thread, and fail with
+ * {@link ConcurrencyLimitExceededException} after {@code card.api.concurrency.queue-timeout}.
+ * The current limit and in-flight count are exposed as {@code card.api.concurrency.limit} and
+ * {@code card.api.concurrency.in-flight}.
+ */
+@Component
+public class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private final Duration queueTimeout;
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+
+    /**
+     * Creates the limit and registers its gauges.
+     *
+     * @param meterRegistry    registry receiving the limit and in-flight gauges
+     * @param initialLimit     limit used until the first adjustments
+     * @param minLimit         lowest value the limit can be decreased to
+     * @param maxLimit         highest value the limit can be increased to
+     * @param backoffRatio     factor applied to the limit when the API shows signs of overload
+     * @param latencyThreshold call latency above which the API is considered overloaded
+     * @param queueTimeout     how long a call may wait for a slot before failing
+     */
+    public AdaptiveConcurrencyLimit(final MeterRegistry meterRegistry,
+                                    final @Value("${card.api.concurrency.initial-limit:20}") int initialLimit,
+                                    final @Value("${card.api.concurrency.min-limit:4}") int minLimit,
+                                    final @Value("${card.api.concurrency.max-limit:100}") int maxLimit,
+                                    final @Value("${card.api.concurrency.backoff-ratio:0.9}") double backoffRatio,
+                                    final @Value("${card.api.concurrency.latency-threshold:1s}") Duration latencyThreshold,
+                                    final @Value("${card.api.concurrency.queue-timeout:5s}") Duration queueTimeout) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.queueTimeout = queueTimeout;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        Gauge.builder("card.api.concurrency.limit", this, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive limit on concurrent card API calls")
+                .register(meterRegistry);
+        Gauge.builder("card.api.concurrency.in-flight", this, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Card API calls currently holding a slot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs a call once a slot under the current limit is free, and adjusts the limit from its latency and outcome.
+     *
+     * @param call the call to limit
+     * @param <T>  type of the call's result
+     * @return the limited call, failing with {@link ConcurrencyLimitExceededException} if no slot frees up in time
+     */
+    public <T> Mono<T> limit(final Mono<T> call) {
+        return acquire().then(Mono.defer(() -> {
+            final long start = System.nanoTime();
+            final AtomicReference<Sample> sample = new AtomicReference<>(Sample.IGNORED);
+            return call
+                    .doOnSuccess(result -> sample.set(Sample.COMPLETED))
+                    .doOnError(e -> sample.set(isOverload(e) ? Sample.OVERLOADED : Sample.IGNORED))
+                    .doFinally(signal -> release(sample.get(), System.nanoTime() - start));
+        }));
+    }
+
+    /**
+     * Returns the current limit, rounded down to whole calls.
+     *
+     * @return the current limit
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Returns the number of calls currently holding a slot.
+     *
+     * @return the number of calls in flight
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private Mono<Void> acquire() {
+        return Mono.<Void>create(sink -> {
+            final Waiter waiter = new Waiter(sink);
+            synchronized (this) {
+                if (waiters.isEmpty() && inFlight < (int) limit) {
+                    inFlight++;
+                    waiter.claimed.set(true);
+                } else {
+                    waiters.addLast(waiter);
+                }
+            }
+            if (waiter.claimed.get()) {
+                sink.success();
+                return;
+            }
+            sink.onCancel(() -> cancel(waiter));
+        }).timeout(queueTimeout, Mono.error(() -> new ConcurrencyLimitExceededException(
+                "No card API slot became free within " + queueTimeout)));
+    }
+
+    /**
+     * Removes a waiter whose caller gave up; if it was granted a slot in the meantime, the slot is returned.
+     */
+    private void cancel(final Waiter waiter) {
+        if (waiter.claimed.compareAndSet(false, true)) {
+            synchronized (this) {
+                waiters.remove(waiter);
+            }
+        } else {
+            release(Sample.IGNORED, 0);
+        }
+    }
+
+    private void release(final Sample sample, final long latencyNanos) {
+        final List<Waiter> granted = new ArrayList<>();
+        synchronized (this) {
+            inFlight--;
+            if (sample == Sample.OVERLOADED || sample == Sample.COMPLETED && latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (sample == Sample.COMPLETED && (inFlight + 1) * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            while (inFlight < (int) limit && !waiters.isEmpty()) {
+                final Waiter waiter = waiters.pollFirst();
+                if (waiter.claimed.compareAndSet(false, true)) {
+                    inFlight++;
+                    granted.add(waiter);
+                }
+            }
+        }
+        granted.forEach(waiter -> waiter.sink.success());
+    }
+
+    private static boolean isOverload(final Throwable e) {
+        if (e instanceof ExternalApiException apiException && apiException.getStatusCode() != null) {
+            final int status = apiException.getStatusCode().value();
+            return status == HttpStatus.TOO_MANY_REQUESTS.value() || status == HttpStatus.SERVICE_UNAVAILABLE.value();
+        }
+        final Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+        return cause instanceof TimeoutException || cause instanceof ReadTimeoutException;
+    }
+
+    /**
+     * What a finished call says about the API's capacity. Errors other than overload signals, such as rejected
+     * requests or an open circuit breaker, release their slot without adjusting the limit.
+     */
+    private enum Sample {
+        COMPLETED, OVERLOADED, IGNORED
+    }
+
+    /**
+     * A call waiting for a slot; {@code claimed} is set once, either when it is granted a slot or when it gives up.
+     */
+    private static final class Waiter {
+        private final MonoSink<Void> sink;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private Waiter(final MonoSink<Void> sink) {
+            this.sink = sink;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.task.client.card.app.api;
+
+import com.task.client.card.app.config.ExternalApiResponseErrorHandler;
+import com.task.client.card.app.dto.NewCardRequest;
+import com.task.client.card.app.dto.Response;
+import com.task.client.card.app.exception.ExternalApiException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.regex.Pattern;
+
+/**
+ * Non-blocking client for the external card API.
+ * Error responses are mapped to {@link ExternalApiException} by {@link ExternalApiResponseErrorHandler}.
+ * Every attempt is timed as {@value #REQUESTS_METRIC}, tagged with its outcome and the HTTP status or
+ * {@code ErrorResponse} code returned by the API. Calls are protected by {@link CardApiResilience}.
+ */
+@Component
+public class CardApiClient {
+
+    public static final String REQUESTS_METRIC = "card.api.requests";
+
+    private static final Pattern STATUS_CODE = Pattern.compile("\\d{3}");
+
+    private final WebClient webClient;
+    private final String apiUrl;
+    private final MeterRegistry meterRegistry;
+    private final CardApiResilience resilience;
+    private final ExternalApiResponseErrorHandler errorHandler = new ExternalApiResponseErrorHandler();
+
+    /**
+     * Creates the client.
+     *
+     * @param cardApiWebClient web client configured for the card API
+     * @param apiUrl           URL of the card request endpoint
+     * @param meterRegistry    registry receiving the request timings
+     * @param resilience       circuit breaker, bulkhead and retry applied to every call
+     */
+    public CardApiClient(final WebClient cardApiWebClient, final @Value("${api.url}") String apiUrl,
+                         final MeterRegistry meterRegistry, final CardApiResilience resilience) {
+        this.webClient = cardApiWebClient;
+        this.apiUrl = apiUrl;
+        this.meterRegistry = meterRegistry;
+        this.resilience = resilience;
+    }
+
+    /**
+     * Sends a new card request to the external API.
+     *
+     * @param newCardRequest the request body
+     * @return a {@link Mono} emitting the API response and its status, or failing with
+     *         {@link ExternalApiException} if the API answers with an error status, or with
+     *         {@code CallNotPermittedException}/{@code BulkheadFullException} if the call is not attempted
+     */
+    public Mono<ResponseEntity<Response>> requestNewCard(final NewCardRequest newCardRequest) {
+        return resilience.decorate(Mono.defer(() -> {
+            final Timer.Sample sample = Timer.start(meterRegistry);
+            return webClient.post()
+                    .uri(apiUrl)
+                    .bodyValue(newCardRequest)
+                    .retrieve()
+                    .onStatus(HttpStatusCode::isError, response -> response.bodyToMono(byte[].class)
+                            .defaultIfEmpty(new byte[0])
+                            .map(body -> errorHandler.toException(response.statusCode(), body)))
+                    .toEntity(Response.class)
+                    .doOnSuccess(response -> record(sample, "SUCCESS", String.valueOf(response.getStatusCode().value())))
+                    .doOnError(ExternalApiException.class, e -> record(sample,
+                            e.getStatusCode() != null && e.getStatusCode().is5xxServerError() ? "SERVER_ERROR" : "REJECTED",
+                            errorCode(e)))
+                    .doOnError(e -> !(e instanceof ExternalApiException), e -> record(sample, "ERROR", "NONE"));
+        }));
+    }
+
+    private void record(final Timer.Sample sample, final String outcome, final String code) {
+        sample.stop(Timer.builder(REQUESTS_METRIC)
+                .description("Requests to the external card API")
+                .tag("outcome", outcome)
+                .tag("code", code)
+                .register(meterRegistry));
+    }
+
+    /**
+     * Returns the {@code ErrorResponse} code if it looks like an HTTP status, keeping the tag's cardinality bounded.
+     */
+    private static String errorCode(final ExternalApiException e) {
+        final String code = e.getErrorResponse() != null ? e.getErrorResponse().getCode() : null;
+        if (code != null && STATUS_CODE.matcher(code).matches()) {
+            return code;
+        }
+        return e.getStatusCode() != null ? String.valueOf(e.getStatusCode().value()) : "UNKNOWN";
+    }
+}
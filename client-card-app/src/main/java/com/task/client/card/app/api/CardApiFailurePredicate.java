@@ -0,0 +1,26 @@
+package com.task.client.card.app.api;
+
+import com.task.client.card.app.exception.ExternalApiException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+/**
+ * Decides which card API errors indicate that the API itself is failing, as opposed to rejecting a request.
+ * Server errors (5xx), 429 Too Many Requests, connection failures and timeouts match and are retried and counted
+ * by the circuit breaker; other error responses with a 4xx status do not, since repeating the same request cannot
+ * succeed.
+ */
+public class CardApiFailurePredicate implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(final Throwable throwable) {
+        if (throwable instanceof ExternalApiException e) {
+            return e.getStatusCode() == null || e.getStatusCode().is5xxServerError()
+                    || e.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return throwable instanceof WebClientRequestException || throwable instanceof TimeoutException;
+    }
+}
@@ -0,0 +1,77 @@
+package com.task.client.card.app.api;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.ratelimiter.operator.RateLimiterOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Resilience policies applied to every card API call, configured under {@code resilience4j.*.instances.cardApi}.
+ * Each attempt first takes a token from the rate limiter, a token bucket refilled every
+ * {@code limit-refresh-period} that keeps us under the provider's quota; callers wait up to {@code timeout-duration}
+ * for a token and otherwise fail with {@code RequestNotPermitted}. The attempt then waits for a slot under the
+ * {@link AdaptiveConcurrencyLimit}, passes the bulkhead, a hard cap on concurrent calls failing with
+ * {@code BulkheadFullException}, and finally the circuit breaker, which fails fast with
+ * {@code CallNotPermittedException} while the API is considered down. The breaker sits closest to the call so
+ * that time spent waiting for a token or a slot does not count as a slow call.
+ * Failed attempts matching {@link CardApiFailurePredicate} are retried with jittered exponential backoff;
+ * rejections by the limiters, the bulkhead or the breaker are not retried.
+ */
+@Component
+public class CardApiResilience {
+
+    public static final String INSTANCE = "cardApi";
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Retry retry;
+    private final RateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+
+    /**
+     * Creates the policies from their registries.
+     *
+     * @param circuitBreakerRegistry registry providing the {@value #INSTANCE} circuit breaker
+     * @param bulkheadRegistry       registry providing the {@value #INSTANCE} bulkhead
+     * @param retryRegistry          registry providing the {@value #INSTANCE} retry
+     * @param rateLimiterRegistry    registry providing the {@value #INSTANCE} rate limiter
+     * @param concurrencyLimit       adaptive limit on concurrent calls
+     */
+    public CardApiResilience(final CircuitBreakerRegistry circuitBreakerRegistry,
+                             final BulkheadRegistry bulkheadRegistry,
+                             final RetryRegistry retryRegistry,
+                             final RateLimiterRegistry rateLimiterRegistry,
+                             final AdaptiveConcurrencyLimit concurrencyLimit) {
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(INSTANCE);
+        this.bulkhead = bulkheadRegistry.bulkhead(INSTANCE);
+        this.retry = retryRegistry.retry(INSTANCE);
+        this.rateLimiter = rateLimiterRegistry.rateLimiter(INSTANCE);
+        this.concurrencyLimit = concurrencyLimit;
+    }
+
+    /**
+     * Applies the rate limiter, concurrency limit, bulkhead, circuit breaker and retry to a call.
+     *
+     * @param call the call, subscribed once per attempt
+     * @param <T>  type of the call's result
+     * @return the protected call
+     */
+    public <T> Mono<T> decorate(final Mono<T> call) {
+        return call
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transform(concurrencyLimit::limit)
+                .transformDeferred(RateLimiterOperator.of(rateLimiter))
+                .transformDeferred(RetryOperator.of(retry));
+    }
+}
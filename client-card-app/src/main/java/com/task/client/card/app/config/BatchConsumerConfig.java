@@ -0,0 +1,36 @@
+package com.task.client.card.app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.time.Duration;
+
+/**
+ * Listener container configuration for {@code app.kafka.consumer.mode=batch}. Spring Boot applies the error handler
+ * below to its default container factory. When the listener fails, the consumer is paused and the whole batch is
+ * redelivered every {@code app.kafka.consumer.redelivery-delay}; once it has failed
+ * {@code app.kafka.consumer.max-attempts} times it is logged and its offsets are committed, so a batch that can
+ * never be applied does not stall its partitions.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.kafka.consumer.mode", havingValue = "batch", matchIfMissing = true)
+public class BatchConsumerConfig {
+
+    /**
+     * Error handler of the container running {@code CardStatusListener}.
+     *
+     * @param redeliveryDelay pause before a failed batch is redelivered
+     * @param maxAttempts     deliveries of a failed batch before it is skipped
+     * @return the error handler
+     */
+    @Bean
+    public DefaultErrorHandler batchErrorHandler(
+            final @Value("${app.kafka.consumer.redelivery-delay:1s}") Duration redeliveryDelay,
+            final @Value("${app.kafka.consumer.max-attempts:10}") int maxAttempts) {
+        return new DefaultErrorHandler(new FixedBackOff(redeliveryDelay.toMillis(), maxAttempts - 1L));
+    }
+}
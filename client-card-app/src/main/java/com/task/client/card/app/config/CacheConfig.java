@@ -0,0 +1,46 @@
+package com.task.client.card.app.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration of the in-process cache of clients by OIB.
+ * The cache is bounded by size and time-to-live and records hit/miss statistics. Puts and evictions
+ * made inside a transaction are applied only after it commits, so a rolled-back change never
+ * leaves the cache inconsistent with the database.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CLIENTS_CACHE = "clients";
+
+    /**
+     * Cache manager holding the {@value #CLIENTS_CACHE} cache.
+     *
+     * @param maximumSize maximum number of cached clients
+     * @param ttl         time after which a cached client is reloaded from the database
+     * @return the transaction-aware cache manager
+     */
+    @Bean
+    public CacheManager cacheManager(final @Value("${client.cache.maximum-size:10000}") long maximumSize,
+                                     final @Value("${client.cache.ttl:60s}") Duration ttl) {
+        final CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        cacheManager.setCacheNames(List.of(CLIENTS_CACHE));
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
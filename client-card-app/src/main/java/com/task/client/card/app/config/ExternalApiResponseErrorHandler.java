@@ -3,28 +3,38 @@ package com.task.client.card.app.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.task.client.card.app.dto.ErrorResponse;
 import com.task.client.card.app.exception.ExternalApiException;
-import org.springframework.http.client.ClientHttpResponse;
-import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 
 import java.io.IOException;
 
 /**
  * Custom error handler for handling API response errors.
+ * Maps the error responses received by the non-blocking card API client to {@link ExternalApiException}.
  */
-public class ExternalApiResponseErrorHandler implements ResponseErrorHandler {
+public class ExternalApiResponseErrorHandler {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    @Override
-    public boolean hasError(final ClientHttpResponse response) throws IOException {
-        return response.getStatusCode().isError();
-    }
-
-    @Override
-    public void handleError(final ClientHttpResponse response) throws IOException {
-        final ErrorResponse errorResponse = objectMapper.readValue(response.getBody(), ErrorResponse.class);
-
-        throw new ExternalApiException("API request failed: " + errorResponse.getDescription(), errorResponse);
+    /**
+     * Maps an error response of the external API to an {@link ExternalApiException}.
+     * If the body is not a valid {@link ErrorResponse}, one is built from the HTTP status.
+     *
+     * @param statusCode the HTTP status of the response
+     * @param body       the raw response body, possibly empty
+     * @return the exception describing the error
+     */
+    public ExternalApiException toException(final HttpStatusCode statusCode, final byte[] body) {
+        ErrorResponse errorResponse;
+        try {
+            errorResponse = objectMapper.readValue(body, ErrorResponse.class);
+        } catch (IOException e) {
+            errorResponse = new ErrorResponse();
+            errorResponse.setCode(String.valueOf(statusCode.value()));
+            final HttpStatus status = HttpStatus.resolve(statusCode.value());
+            errorResponse.setDescription(status != null ? status.getReasonPhrase() : "HTTP " + statusCode.value());
+        }
+
+        return new ExternalApiException("API request failed: " + errorResponse.getDescription(), errorResponse, statusCode);
     }
 }
-
@@ -1,8 +1,12 @@
 package com.task.client.card.app.config;
 
 import com.task.client.card.app.dto.ErrorResponse;
+import com.task.client.card.app.exception.InvalidStatusTransitionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -110,6 +114,82 @@ public class GlobalExceptionHandler {
     }
 
 
+    /**
+     * Handles updates that lost a race with a concurrent change of the same client, detected through its version.
+     * Returns 409 so that clients reload the current state before retrying.
+     *
+     * @param ex      the thrown {@link OptimisticLockingFailureException}
+     * @param request the current web request
+     * @return a {@link ResponseEntity} containing an {@link ErrorResponse} and a 409 CONFLICT status
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(final OptimisticLockingFailureException ex,
+                                                                        final WebRequest request) {
+        logger.warn("Concurrent modification detected: {}", ex.getMessage());
+        final ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setCode(HttpStatus.CONFLICT.toString());
+        errorResponse.setDescription("Global handler: Client was modified concurrently, reload it and retry.");
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles status changes the card lifecycle does not allow, such as activating a rejected card.
+     * Returns 409 because the request conflicts with the client's current status.
+     *
+     * @param ex      the thrown {@link InvalidStatusTransitionException}
+     * @param request the current web request
+     * @return a {@link ResponseEntity} containing an {@link ErrorResponse} and a 409 CONFLICT status
+     */
+    @ExceptionHandler(InvalidStatusTransitionException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidStatusTransition(final InvalidStatusTransitionException ex,
+                                                                       final WebRequest request) {
+        logger.warn("Status change refused: {}", ex.getMessage());
+        final ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setCode(HttpStatus.CONFLICT.toString());
+        errorResponse.setDescription("Global handler: Card status cannot change from " + ex.getFrom()
+                + " to " + ex.getTo() + ".");
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles writes rejected by a database constraint, such as creating a client whose OIB is already stored.
+     * Returns 409 instead of a generic server error.
+     *
+     * @param ex      the thrown {@link DataIntegrityViolationException}
+     * @param request the current web request
+     * @return a {@link ResponseEntity} containing an {@link ErrorResponse} and a 409 CONFLICT status
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(final DataIntegrityViolationException ex,
+                                                                      final WebRequest request) {
+        logger.warn("Write rejected by a database constraint: {}", ex.getMostSpecificCause().getMessage());
+        final ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setCode(HttpStatus.CONFLICT.toString());
+        errorResponse.setDescription("Global handler: Conflicts with stored data, a client with this OIB may already exist.");
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles work refused because a bounded queue is full, such as the card submission job queue.
+     * Returns 503 so that clients back off and retry later.
+     *
+     * @param ex      the thrown {@link TaskRejectedException}
+     * @param request the current web request
+     * @return a {@link ResponseEntity} containing an {@link ErrorResponse} and a 503 SERVICE UNAVAILABLE status
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleTaskRejected(final TaskRejectedException ex, final WebRequest request) {
+        logger.warn("Request refused, queue is full: {}", ex.getMessage());
+        final ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setCode(HttpStatus.SERVICE_UNAVAILABLE.toString());
+        errorResponse.setDescription("Global handler: Too many pending requests, try again later.");
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     /**
      * Handles general exceptions.
      * Logs the error and returns a generic {@link ErrorResponse}.
@@ -0,0 +1,50 @@
+package com.task.client.card.app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.time.Duration;
+
+/**
+ * Listener container configuration for {@code app.kafka.consumer.mode=parallel}. The container is configured from
+ * the {@code spring.kafka.listener.*} properties like the default one, but as a batch listener with manual
+ * acknowledgment, so the parallel listener decides which offsets are committed. When the listener reports a failed
+ * record, the error handler commits the offsets before it and redelivers the rest after
+ * {@code app.kafka.consumer.redelivery-delay}; once a record has failed {@code app.kafka.consumer.max-attempts}
+ * times it is logged and skipped, so a record that can never be applied does not stall its partition.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.kafka.consumer.mode", havingValue = "parallel")
+public class ParallelConsumerConfig {
+
+    /**
+     * Container factory used by {@code ParallelCardStatusListener}.
+     *
+     * @param configurer      Spring Boot's configurer applying the {@code spring.kafka.listener.*} properties
+     * @param consumerFactory the application's consumer factory
+     * @param redeliveryDelay pause before the records from a failed one on are redelivered
+     * @param maxAttempts     deliveries of a failed record before it is skipped
+     * @return the container factory
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> parallelKafkaListenerContainerFactory(
+            final ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            final ConsumerFactory<Object, Object> consumerFactory,
+            final @Value("${app.kafka.consumer.redelivery-delay:1s}") Duration redeliveryDelay,
+            final @Value("${app.kafka.consumer.max-attempts:10}") int maxAttempts) {
+        final ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(redeliveryDelay.toMillis(), maxAttempts - 1L)));
+        return factory;
+    }
+}
@@ -0,0 +1,55 @@
+package com.task.client.card.app.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs servlet request handling on virtual threads when {@code app.threads.virtual.enabled=true}.
+ * Requires a Java 21 runtime (build with {@code -Pjava21}).
+ * With the property unset or {@code false}, Tomcat's default platform-thread pool is used.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    /**
+     * Executor starting a new virtual thread for every task, used by Tomcat to handle requests.
+     *
+     * @return the virtual-thread-per-task executor
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        try {
+            final ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+            logger.info("Using virtual threads for request handling");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads require a Java 21 runtime; "
+                    + "set app.threads.virtual.enabled=false to use platform threads", e);
+        }
+    }
+
+    /**
+     * Makes Tomcat dispatch requests on virtual threads instead of its bounded worker pool.
+     *
+     * @param virtualThreadExecutor the virtual-thread executor
+     * @return the protocol handler customizer
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer(
+            final ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+}
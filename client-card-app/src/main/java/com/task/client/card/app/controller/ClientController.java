@@ -1,32 +1,60 @@
 package com.task.client.card.app.controller;
 
+import com.task.client.card.app.dto.BatchResult;
+import com.task.client.card.app.dto.CardStatusChange;
+import com.task.client.card.app.dto.CardSubmissionResult;
 import com.task.client.card.app.dto.ClientDTO;
-import com.task.client.card.app.dto.ErrorResponse;
-import com.task.client.card.app.dto.NewCardRequest;
-import com.task.client.card.app.dto.Response;
+import com.task.client.card.app.dto.ClientPage;
+import com.task.client.card.app.dto.ClientStats;
+import com.task.client.card.app.dto.ClientView;
+import com.task.client.card.app.dto.DeleteClientsRequest;
+import com.task.client.card.app.dto.DeleteClientsResult;
+import com.task.client.card.app.dto.SendBatchRequest;
+import com.task.client.card.app.dto.SendBatchResult;
+import com.task.client.card.app.dto.SubmissionJob;
 import com.task.client.card.app.entity.Client;
-import com.task.client.card.app.exception.ExternalApiException;
-import com.task.client.card.app.kafka.KafkaService;
+import com.task.client.card.app.entity.ClientStatusHistory;
+import com.task.client.card.app.enums.CardStatus;
 import com.task.client.card.app.mapper.ClientMapper;
 import com.task.client.card.app.repository.ClientRepository;
+import com.task.client.card.app.repository.ClientStatusHistoryRepository;
+import com.task.client.card.app.service.CardSubmissionService;
+import com.task.client.card.app.service.ClientBatchService;
+import com.task.client.card.app.service.ClientExportService;
+import com.task.client.card.app.service.ClientStatusCounters;
+import com.task.client.card.app.service.ClientUpsertService;
+import com.task.client.card.app.service.SubmissionJobService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 
-import java.time.LocalDateTime;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
 
 /**
  * REST controller for managing client-related operations.
@@ -37,24 +65,39 @@ public class ClientController {
 
     private static final Logger logger = LoggerFactory.getLogger(ClientController.class);
 
-    @Value("${api.url}")
-    private String apiUrl;
+    private static final int MAX_PAGE_SIZE = 1000;
 
     @Autowired
     private ClientRepository clientRepository;
 
     @Autowired
-    private RestTemplate restTemplate;
+    private CardSubmissionService cardSubmissionService;
 
     @Autowired
-    private KafkaService kafkaService;
+    private ClientBatchService clientBatchService;
+
+    @Autowired
+    private ClientExportService clientExportService;
+
+    @Autowired
+    private ClientStatusCounters clientStatusCounters;
+
+    @Autowired
+    private SubmissionJobService submissionJobService;
+
+    @Autowired
+    private ClientUpsertService clientUpsertService;
+
+    @Autowired
+    private ClientStatusHistoryRepository clientStatusHistoryRepository;
 
     /**
-     * Creates a new client from the provided data.
+     * Creates a new client from the provided data and records its initial card status in the status history.
      *
      * @param clientDTO Data Transfer Object representing the client.
      * @return Response entity indicating whether the client was created successfully.
      */
+    @Transactional
     @PostMapping
     public ResponseEntity<String> createClient(final @Valid @RequestBody ClientDTO clientDTO) {
         logger.info("Received request to create client: {}", clientDTO);
@@ -62,26 +105,102 @@ public class ClientController {
         final Client client = ClientMapper.toClientEntity(clientDTO);
 
         clientRepository.save(client);
+        clientStatusHistoryRepository.save(ClientStatusHistory.of(client.getOib(), null, client.getCardStatus(), Instant.now()));
+        clientStatusCounters.created(client.getCardStatus());
 
         logger.info("Client successfully created and saved to the database: {}", client);
 
         return new ResponseEntity<>("Client successfully created.", HttpStatus.CREATED);
     }
 
+    /**
+     * Creates clients in bulk from a JSON array or an NDJSON stream.
+     * Rows are validated individually and written in JDBC batches; invalid or duplicate rows are
+     * rejected without affecting the rest of the import.
+     *
+     * @param body the raw request body containing the clients.
+     * @return Response entity containing the accept/reject result of every row.
+     * @throws IOException if the request body cannot be read.
+     */
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BatchResult> createClients(final InputStream body) throws IOException {
+        logger.info("Received request to create clients in bulk");
+
+        final BatchResult result = clientBatchService.importClients(body);
+
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    /**
+     * Lists clients in id order using keyset pagination, optionally filtered by card status.
+     * Each page continues after the last id of the previous one, so the cost of a page does not depend
+     * on how far into the listing it is.
+     *
+     * @param afterId id after which the page starts; omit for the first page.
+     * @param size    maximum number of clients on the page, at most {@value #MAX_PAGE_SIZE}.
+     * @param status  card status to filter by; omit for all clients.
+     * @return Response entity containing the page and the {@code afterId} of the next page.
+     */
+    @GetMapping
+    public ResponseEntity<ClientPage> listClients(final @RequestParam(required = false) Long afterId,
+                                                  final @RequestParam(defaultValue = "100") int size,
+                                                  final @RequestParam(required = false) CardStatus status) {
+        final long after = afterId != null ? afterId : Long.MIN_VALUE;
+        final Pageable page = PageRequest.ofSize(Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        final List<ClientView> clients = status == null
+                ? clientRepository.findByIdGreaterThanOrderByIdAsc(after, page)
+                : clientRepository.findByCardStatusAndIdGreaterThanOrderByIdAsc(status, after, page);
+
+        final Long nextAfterId = clients.size() == page.getPageSize() ? clients.get(clients.size() - 1).getId() : null;
+        return new ResponseEntity<>(new ClientPage(clients, nextAfterId), HttpStatus.OK);
+    }
+
+    /**
+     * Streams all clients as newline-delimited JSON, optionally filtered by card status.
+     * Rows are written as they are read from the database, so the export runs in constant memory.
+     *
+     * @param status card status to filter by; omit for all clients.
+     * @return Response entity streaming the clients.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportClients(final @RequestParam(required = false) CardStatus status) {
+        logger.info("Received request to export clients{}", status != null ? " with status " + status : "");
+
+        final StreamingResponseBody body = out -> {
+            final long exported = clientExportService.exportClients(status, out);
+            logger.info("Exported {} clients", exported);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Returns the number of clients per card status.
+     * Counts are kept in memory and reconciled with the database periodically, so this never scans the
+     * client table; right after bulk status updates they may lag by up to {@code client.stats.refresh-ms}.
+     *
+     * @return Response entity containing the count of every status and the total.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<ClientStats> getClientStats() {
+        final Map<CardStatus, Long> counts = clientStatusCounters.snapshot();
+        final long total = counts.values().stream().mapToLong(Long::longValue).sum();
+        return new ResponseEntity<>(new ClientStats(counts, total, clientStatusCounters.getReconciledAt()), HttpStatus.OK);
+    }
+
     /**
      * Retrieves a client by their OIB.
      *
      * @param oib The OIB of the client.
-     * @return Response entity containing the client if found, or 404 if not found.
+     * @return Response entity containing the client and its version as {@code ETag} if found, or 404 if not found.
      */
     @GetMapping("/{oib}")
-    public ResponseEntity<Client> getClientByOib(final @PathVariable String oib) {
+    public ResponseEntity<ClientView> getClientByOib(final @PathVariable String oib) {
         logger.info("Received request to search client with OIB: {}", oib);
 
-        final Client client = clientRepository.findByOib(oib);
+        final ClientView client = clientRepository.findByOib(oib);
         if (client != null) {
             logger.info("Client found: {}", client);
-            return new ResponseEntity<>(client, HttpStatus.OK);
+            return ResponseEntity.ok().eTag(String.valueOf(client.getVersion())).body(client);
         } else {
             logger.warn("Client with OIB {} not found", oib);
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -89,19 +208,69 @@ public class ClientController {
     }
 
     /**
-     * Deletes a client by their OIB.
+     * Returns the card status history of a client, newest change first. The history is kept after the client
+     * is deleted, so it is returned regardless of whether the client still exists.
+     *
+     * @param oib  The OIB of the client.
+     * @param size maximum number of changes returned, at most {@value #MAX_PAGE_SIZE}.
+     * @return Response entity containing the client's status changes, empty if there are none.
+     */
+    @GetMapping("/{oib}/history")
+    public ResponseEntity<List<CardStatusChange>> getClientHistory(final @PathVariable String oib,
+                                                                   final @RequestParam(defaultValue = "100") int size) {
+        final Pageable page = PageRequest.ofSize(Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        return ResponseEntity.ok(clientStatusHistoryRepository.findByOib(oib, page));
+    }
+
+    /**
+     * Creates the client with the given OIB or replaces the stored one, with a single statement.
+     * With an {@code If-Match} header holding the version from a previous read, only an existing client still at
+     * that version is updated; otherwise the request fails with 409. A status change the card lifecycle does not
+     * allow also fails with 409.
+     *
+     * @param oib       The OIB of the client, which must match the OIB in the body.
+     * @param clientDTO Data Transfer Object representing the client.
+     * @param ifMatch   Optional version the client must still have.
+     * @return Response entity containing the stored client and its new version as {@code ETag}: 201 if it was
+     *         created, 200 if it was updated, 404 for a conditional update of a missing client.
+     */
+    @PutMapping("/{oib}")
+    public ResponseEntity<ClientView> upsertClient(final @PathVariable String oib,
+                                                   final @Valid @RequestBody ClientDTO clientDTO,
+                                                   final @RequestHeader(name = HttpHeaders.IF_MATCH, required = false)
+                                                   String ifMatch) {
+        final OptionalLong expectedVersion = ifMatch != null ? parseVersion(ifMatch) : OptionalLong.empty();
+        if (!oib.equals(clientDTO.getOib()) || ifMatch != null && expectedVersion.isEmpty()) {
+            logger.warn("Invalid upsert of client with OIB {}: body OIB {}, If-Match {}", oib, clientDTO.getOib(), ifMatch);
+            return ResponseEntity.badRequest().build();
+        }
+        final ClientView client = expectedVersion.isPresent()
+                ? clientUpsertService.update(clientDTO, expectedVersion.getAsLong())
+                : clientUpsertService.upsert(clientDTO);
+        if (client == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        logger.info("Client with OIB {} stored, version {}", oib, client.getVersion());
+        return ResponseEntity.status(client.getVersion() == 0 ? HttpStatus.CREATED : HttpStatus.OK)
+                .eTag(String.valueOf(client.getVersion()))
+                .body(client);
+    }
+
+    /**
+     * Deletes a client by their OIB with a single DELETE statement, after locking the row to read the card status
+     * the status counters lose.
      *
      * @param oib The OIB of the client to be deleted.
      * @return Response entity indicating success or failure of deletion.
      */
-    @Transactional
     @DeleteMapping("/{oib}")
+    @Transactional
     public ResponseEntity<Void> deleteClientByOib(final @PathVariable String oib) {
         logger.info("Received request to delete client with OIB: {}", oib);
 
-        final Client client = clientRepository.findByOib(oib);
-        if (client != null) {
-            clientRepository.deleteByOib(oib);
+        final List<CardStatus> statuses = clientRepository.lockCardStatuses(List.of(oib));
+        if (!statuses.isEmpty() && clientRepository.deleteByOib(oib) > 0) {
+            clientStatusCounters.deleted(statuses);
             logger.info("Client with OIB {} successfully deleted", oib);
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         } else {
@@ -110,42 +279,111 @@ public class ClientController {
         }
     }
 
+    /**
+     * Deletes several clients by OIB, issuing one DELETE statement per chunk of OIBs.
+     * OIBs without a stored client are skipped.
+     *
+     * @param request the OIBs of the clients to delete.
+     * @return Response entity containing the number of requested and deleted clients.
+     */
+    @DeleteMapping
+    public ResponseEntity<DeleteClientsResult> deleteClients(final @Valid @RequestBody DeleteClientsRequest request) {
+        logger.info("Received request to delete {} clients", request.getOibs().size());
+        return ResponseEntity.ok(clientBatchService.deleteClients(request.getOibs()));
+    }
+
     /**
      * Sends client data to an external API.
+     * Responds with 503 without calling the API while its circuit breaker is open or its bulkhead is full.
+     * Concurrent requests for the same client share one call to the API; a repeated request with the same
+     * {@code Idempotency-Key} header returns the stored result instead of calling the API again.
      *
-     * @param oib The OIB of the client whose data is being sent.
+     * @param oib            The OIB of the client whose data is being sent.
+     * @param idempotencyKey Optional key identifying the submission across retries.
      * @return Response entity indicating the result of the operation.
      */
     @PostMapping("/send/{oib}")
-    public ResponseEntity<String> sendClientToApi(final @PathVariable String oib) {
+    public Mono<ResponseEntity<String>> sendClientToApi(final @PathVariable String oib,
+                                                        final @RequestHeader(name = "Idempotency-Key", required = false)
+                                                        String idempotencyKey) {
         logger.info("Received request to send client data with OIB {} to API", oib);
-        final Client client = clientRepository.findByOib(oib);
+        final ClientView client = clientRepository.findByOib(oib);
         if (client == null) {
             logger.warn("Client with OIB {} not found", oib);
-            return ResponseEntity.status(404).body("Client not found");
+            return Mono.just(ResponseEntity.status(404).body("Client not found"));
         }
-        final NewCardRequest newCardRequest = ClientMapper.toNewCardRequestDto(client);
-        try {
-            final ResponseEntity<Response> response = restTemplate.postForEntity(apiUrl, newCardRequest, Response.class);
-            logger.info("Data successfully sent to API, status: {}", response.getStatusCode());
+        final Mono<CardSubmissionResult> submission = idempotencyKey == null || idempotencyKey.isBlank()
+                ? cardSubmissionService.submit(client)
+                : cardSubmissionService.submit(client, idempotencyKey);
+        return submission.map(result -> switch (result.getOutcome()) {
+            case SENT -> ResponseEntity.ok("Data sent to API, status: " + result.getMessage());
+            case REJECTED -> ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: " + result.getMessage());
+            case UNAVAILABLE -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(result.getMessage());
+            default -> ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(result.getMessage());
+        });
+    }
 
-            kafkaService.sendAsync("API response for OIB: " + oib + " -> "
-                    + response.getBody().getMessage()
-                    + " @ " + LocalDateTime.now());
+    /**
+     * Queues sending client data to an external API and returns without waiting for the API.
+     * The job is processed by a dedicated worker pool; its result can be polled at the returned location
+     * and is also published to Kafka. Responds with 503 if the job queue is full.
+     *
+     * @param oib The OIB of the client whose data is being sent.
+     * @return Response entity containing the queued job, or 404 if the client does not exist.
+     */
+    @PostMapping("/send/{oib}/async")
+    public ResponseEntity<SubmissionJob> sendClientToApiAsync(final @PathVariable String oib) {
+        logger.info("Received request to send client data with OIB {} to API asynchronously", oib);
+        final ClientView client = clientRepository.findByOib(oib);
+        if (client == null) {
+            logger.warn("Client with OIB {} not found", oib);
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        final SubmissionJob job = submissionJobService.enqueue(client);
+        return ResponseEntity.accepted().location(URI.create("/clients/send/jobs/" + job.getId())).body(job);
+    }
+
+    /**
+     * Returns the state of an asynchronous submission job and, once it is done, its result.
+     *
+     * @param id The job id returned when the submission was queued.
+     * @return Response entity containing the job, or 404 if it is unknown or has expired.
+     */
+    @GetMapping("/send/jobs/{id}")
+    public ResponseEntity<SubmissionJob> getSubmissionJob(final @PathVariable String id) {
+        final SubmissionJob job = submissionJobService.find(id);
+        return job != null ? new ResponseEntity<>(job, HttpStatus.OK) : new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
 
-            return ResponseEntity.ok("Data sent to API, status: " + response.getBody().getMessage());
-        } catch (ExternalApiException e) {
-            final ErrorResponse errorResponse = e.getErrorResponse();
-            logger.error("Error while sending data to API: {} -> {}", errorResponse.getCode(), errorResponse.getDescription());
+    /**
+     * Sends several clients to an external API concurrently, selected either by OIB or by card status.
+     *
+     * @param request the selection of clients to send.
+     * @return Response entity containing a summary and the result for every selected client.
+     */
+    @PostMapping("/send/batch")
+    public Mono<ResponseEntity<SendBatchResult>> sendClientsToApi(final @Valid @RequestBody SendBatchRequest request) {
+        logger.info("Received request to send clients to API: {}", request.getStatus() != null
+                ? "status " + request.getStatus() : request.getOibs().size() + " OIBs");
 
-            kafkaService.sendAsync("Error while sending data to API for OIB: " + oib + " -> "
-                    + errorResponse.getDescription());
+        return cardSubmissionService.submitBatch(request).map(results -> {
+            final SendBatchResult result = SendBatchResult.of(results);
+            logger.info("Batch sent to API: {} sent, {} rejected, {} failed, {} unavailable, {} not found",
+                    result.getSent(), result.getRejected(), result.getFailed(), result.getUnavailable(), result.getNotFound());
+            return ResponseEntity.ok(result);
+        });
+    }
 
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: " + errorResponse.getDescription());
-        } catch (Exception e) {
-            logger.error("Error while sending data to API for OIB: {}", oib, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error sending to API.");
+    /**
+     * Reads a version from an {@code If-Match} header value such as {@code "3"} or {@code W/"3"}, or returns
+     * an empty result if the value is not a version.
+     */
+    private static OptionalLong parseVersion(final String ifMatch) {
+        final String version = ifMatch.trim().replaceFirst("^W/", "").replace("\"", "");
+        try {
+            return OptionalLong.of(Long.parseLong(version));
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
         }
     }
-
 }
@@ -0,0 +1,40 @@
+package com.task.client.card.app.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class representing the outcome of a bulk client import, with one entry per submitted row.
+ */
+@Data
+public class BatchResult {
+
+    private int accepted;
+    private int rejected;
+    private List<BatchRowResult> rows = new ArrayList<>();
+
+    /**
+     * Records a row that was stored successfully.
+     *
+     * @param index the zero-based position of the row in the submitted payload
+     * @param oib   the OIB of the row
+     */
+    public void accept(final int index, final String oib) {
+        accepted++;
+        rows.add(new BatchRowResult(index, oib, true, null));
+    }
+
+    /**
+     * Records a row that was not stored, together with the reason.
+     *
+     * @param index  the zero-based position of the row in the submitted payload
+     * @param oib    the OIB of the row, if it could be read
+     * @param reason human-readable rejection reason
+     */
+    public void reject(final int index, final String oib, final String reason) {
+        rejected++;
+        rows.add(new BatchRowResult(index, oib, false, reason));
+    }
+}
@@ -0,0 +1,19 @@
+package com.task.client.card.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Class representing the accept/reject result of a single row in a bulk client import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRowResult {
+
+    private int index;
+    private String oib;
+    private boolean accepted;
+    private String reason;
+}
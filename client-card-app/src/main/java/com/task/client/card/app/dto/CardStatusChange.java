@@ -0,0 +1,18 @@
+package com.task.client.card.app.dto;
+
+import com.task.client.card.app.enums.CardStatus;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Read-only view of one entry of a client's card status history; {@code fromStatus} is {@code null} for the
+ * status the client was created with.
+ */
+@Value
+public class CardStatusChange {
+
+    CardStatus fromStatus;
+    CardStatus toStatus;
+    Instant changedAt;
+}
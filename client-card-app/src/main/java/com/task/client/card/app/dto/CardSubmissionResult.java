@@ -0,0 +1,19 @@
+package com.task.client.card.app.dto;
+
+import com.task.client.card.app.enums.SubmissionOutcome;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Class representing the result of sending a single client to the external card API.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardSubmissionResult {
+
+    private String oib;
+    private SubmissionOutcome outcome;
+    private String message;
+}
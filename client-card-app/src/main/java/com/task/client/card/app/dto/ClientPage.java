@@ -0,0 +1,20 @@
+package com.task.client.card.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Class representing one page of a keyset-paginated client listing.
+ * {@code nextAfterId} is the value to pass as {@code afterId} for the next page, or {@code null} on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientPage {
+
+    private List<ClientView> items;
+    private Long nextAfterId;
+}
@@ -0,0 +1,22 @@
+package com.task.client.card.app.dto;
+
+import com.task.client.card.app.enums.CardStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Class representing the number of clients per card status.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientStats {
+
+    private Map<CardStatus, Long> counts;
+    private long total;
+    private Instant reconciledAt;
+}
@@ -0,0 +1,20 @@
+package com.task.client.card.app.dto;
+
+import com.task.client.card.app.enums.CardStatus;
+import lombok.Value;
+
+/**
+ * Read-only view of a stored client, loaded with a JPQL constructor expression instead of as a managed entity,
+ * so reads skip entity hydration, the persistence context and dirty checking. Serializes to the same JSON as
+ * the {@code Client} entity; {@code version} is the value to send in {@code If-Match} for a conditional update.
+ */
+@Value
+public class ClientView {
+
+    Long id;
+    String firstName;
+    String lastName;
+    String oib;
+    CardStatus cardStatus;
+    Long version;
+}
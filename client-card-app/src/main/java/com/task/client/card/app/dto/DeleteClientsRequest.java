@@ -0,0 +1,16 @@
+package com.task.client.card.app.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Class representing the request body for deleting several clients by OIB.
+ */
+@Data
+public class DeleteClientsRequest {
+
+    @NotEmpty(message = "At least one OIB must be provided.")
+    private List<String> oibs;
+}
@@ -0,0 +1,18 @@
+package com.task.client.card.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Class representing the outcome of deleting several clients: how many distinct OIBs were requested
+ * and how many clients were actually deleted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeleteClientsResult {
+
+    private int requested;
+    private int deleted;
+}
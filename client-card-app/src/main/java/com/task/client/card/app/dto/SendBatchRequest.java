@@ -0,0 +1,31 @@
+package com.task.client.card.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.task.client.card.app.enums.CardStatus;
+import jakarta.validation.constraints.AssertTrue;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Class representing the request body for sending several clients to the external card API.
+ * Clients are selected either by an explicit list of OIBs or by their card status, but not both.
+ */
+@Data
+public class SendBatchRequest {
+
+    private List<String> oibs;
+    private CardStatus status;
+
+    /**
+     * Checks that exactly one selection criterion is provided.
+     *
+     * @return {@code true} if either {@code oibs} or {@code status} is set, but not both
+     */
+    @JsonIgnore
+    @AssertTrue(message = "Exactly one of oibs or status must be provided.")
+    public boolean isSelectionValid() {
+        final boolean hasOibs = oibs != null && !oibs.isEmpty();
+        return hasOibs != (status != null);
+    }
+}
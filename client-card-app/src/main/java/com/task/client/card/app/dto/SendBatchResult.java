@@ -0,0 +1,40 @@
+package com.task.client.card.app.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Class representing the outcome of a batch submission to the external card API.
+ */
+@Data
+public class SendBatchResult {
+
+    private int sent;
+    private int rejected;
+    private int failed;
+    private int unavailable;
+    private int notFound;
+    private List<CardSubmissionResult> results;
+
+    /**
+     * Builds a summary from the individual submission results.
+     *
+     * @param results the per-client results
+     * @return the summarized batch result
+     */
+    public static SendBatchResult of(final List<CardSubmissionResult> results) {
+        final SendBatchResult batchResult = new SendBatchResult();
+        batchResult.setResults(results);
+        for (CardSubmissionResult result : results) {
+            switch (result.getOutcome()) {
+                case SENT -> batchResult.sent++;
+                case REJECTED -> batchResult.rejected++;
+                case FAILED -> batchResult.failed++;
+                case UNAVAILABLE -> batchResult.unavailable++;
+                default -> batchResult.notFound++;
+            }
+        }
+        return batchResult;
+    }
+}
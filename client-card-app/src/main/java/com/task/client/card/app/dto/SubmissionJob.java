@@ -0,0 +1,25 @@
+package com.task.client.card.app.dto;
+
+import com.task.client.card.app.enums.JobState;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Class representing an asynchronous submission of a client to the external card API.
+ * The result is set once the job is {@link JobState#DONE}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionJob {
+
+    private String id;
+    private String oib;
+    private JobState state;
+    private Instant submittedAt;
+    private Instant completedAt;
+    private CardSubmissionResult result;
+}
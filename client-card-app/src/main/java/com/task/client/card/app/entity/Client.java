@@ -8,19 +8,31 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Instant;
 
 /**
  * Entity class representing a client in the database.
+ * {@code version} is incremented by every update, including native ones, for optimistic concurrency control.
+ * {@code cardStatusChangedAt} is the time of the last card status change, used to find cards due to expire. Its
+ * default gives existing rows the upgrade time when {@code ddl-auto=update} adds the column, as the V4 migration does.
  */
 @Entity
 @Data
+@Table(indexes = @Index(name = "idx_client_card_status", columnList = "cardStatus, id"))
 public class Client {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "client_seq")
+    @SequenceGenerator(name = "client_seq", sequenceName = "client_seq", allocationSize = 100)
     private Long id;
 
     @NotNull
@@ -38,4 +50,12 @@ public class Client {
 
     @Enumerated(EnumType.STRING)
     private CardStatus cardStatus;
+
+    @ColumnDefault("current_timestamp")
+    private Instant cardStatusChangedAt;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
@@ -0,0 +1,71 @@
+package com.task.client.card.app.entity;
+
+import com.task.client.card.app.enums.CardStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * Entity class representing one change of a client's card status. Rows are only ever inserted, in the same
+ * transaction as the change, and are kept after the client is deleted. {@code fromStatus} is {@code null} for the
+ * status a client was created with. On PostgreSQL the table is range-partitioned by month of {@code changedAt}.
+ */
+@Entity
+@Data
+@Immutable
+@Table(indexes = @Index(name = "idx_client_status_history_oib", columnList = "oib, changedAt"))
+public class ClientStatusHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "client_status_history_seq")
+    @SequenceGenerator(name = "client_status_history_seq", sequenceName = "client_status_history_seq",
+            allocationSize = 100)
+    private Long id;
+
+    @NotNull
+    @Column(length = 11)
+    private String oib;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private CardStatus fromStatus;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private CardStatus toStatus;
+
+    @NotNull
+    private Instant changedAt;
+
+    /**
+     * Creates a history row for a status change.
+     *
+     * @param oib       OIB of the client
+     * @param from      previous status, {@code null} if the client was just created
+     * @param to        new status
+     * @param changedAt time of the change
+     * @return the unsaved history row
+     */
+    public static ClientStatusHistory of(final String oib, final CardStatus from, final CardStatus to,
+                                         final Instant changedAt) {
+        final ClientStatusHistory history = new ClientStatusHistory();
+        history.setOib(oib);
+        history.setFromStatus(from);
+        history.setToStatus(to);
+        history.setChangedAt(changedAt);
+        return history;
+    }
+}
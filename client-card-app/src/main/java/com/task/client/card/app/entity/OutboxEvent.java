@@ -0,0 +1,46 @@
+package com.task.client.card.app.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Entity class representing a Kafka message waiting in the transactional outbox.
+ * Rows are written in the same transaction as the change they describe and are relayed
+ * to Kafka in id order; {@code deliveredAt} is set once the broker has acknowledged them.
+ */
+@Entity
+@Data
+@Table(indexes = @Index(name = "idx_outbox_event_delivered_at", columnList = "deliveredAt, id"))
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 100)
+    private Long id;
+
+    @NotNull
+    @Column(length = 100)
+    private String topic;
+
+    @Column(length = 100)
+    private String messageKey;
+
+    @NotNull
+    @Column(length = 2000)
+    private String payload;
+
+    @NotNull
+    private Instant createdAt;
+
+    private Instant deliveredAt;
+}
@@ -1,8 +1,22 @@
 package com.task.client.card.app.enums;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Enum representing the various statuses a card can have.
+ * Constants must only be appended: their ordinals are part of the binary card status event format.
+ * A stored client's status may only move along the lifecycle graph below; a client without a status may take any.
+ * <pre>
+ * ACCEPTED -&gt; PENDING | REJECTED
+ * PENDING  -&gt; ACTIVE | REJECTED
+ * ACTIVE   -&gt; EXPIRED
+ * REJECTED -&gt; PENDING   (resubmitted)
+ * EXPIRED  -&gt; PENDING   (renewed)
+ * </pre>
  */
 public enum CardStatus {
     ACCEPTED,
@@ -11,6 +25,27 @@ public enum CardStatus {
     ACTIVE,
     EXPIRED;
 
+    private static final Map<CardStatus, Set<CardStatus>> TRANSITIONS = new EnumMap<>(CardStatus.class);
+
+    static {
+        TRANSITIONS.put(ACCEPTED, Collections.unmodifiableSet(EnumSet.of(PENDING, REJECTED)));
+        TRANSITIONS.put(PENDING, Collections.unmodifiableSet(EnumSet.of(ACTIVE, REJECTED)));
+        TRANSITIONS.put(REJECTED, Collections.unmodifiableSet(EnumSet.of(PENDING)));
+        TRANSITIONS.put(ACTIVE, Collections.unmodifiableSet(EnumSet.of(EXPIRED)));
+        TRANSITIONS.put(EXPIRED, Collections.unmodifiableSet(EnumSet.of(PENDING)));
+    }
+
+    /**
+     * Tells whether a card may move from this status to {@code next} in one step.
+     * Keeping the same status is not a transition and returns {@code false}.
+     *
+     * @param next the requested status
+     * @return {@code true} if the lifecycle allows the change
+     */
+    public boolean canTransitionTo(final CardStatus next) {
+        return TRANSITIONS.get(this).contains(next);
+    }
+
     @Override
     public String toString() {
         return name().toUpperCase();
@@ -0,0 +1,10 @@
+package com.task.client.card.app.enums;
+
+/**
+ * Enum representing the lifecycle of an asynchronous card submission job.
+ */
+public enum JobState {
+    QUEUED,
+    RUNNING,
+    DONE
+}
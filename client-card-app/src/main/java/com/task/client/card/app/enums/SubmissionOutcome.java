@@ -0,0 +1,12 @@
+package com.task.client.card.app.enums;
+
+/**
+ * Enum representing the possible outcomes of sending a client to the external card API.
+ */
+public enum SubmissionOutcome {
+    SENT,
+    REJECTED,
+    FAILED,
+    UNAVAILABLE,
+    NOT_FOUND
+}
@@ -0,0 +1,11 @@
+package com.task.client.card.app.exception;
+
+/**
+ * Thrown when a call waited longer than allowed for a slot under the card API's adaptive concurrency limit.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException(final String message) {
+        super(message);
+    }
+}
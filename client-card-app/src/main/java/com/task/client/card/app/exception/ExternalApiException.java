@@ -2,6 +2,7 @@ package com.task.client.card.app.exception;
 
 import com.task.client.card.app.dto.ErrorResponse;
 import lombok.Getter;
+import org.springframework.http.HttpStatusCode;
 
 /**
  * Custom exception to handle API request errors.
@@ -10,11 +11,23 @@ import lombok.Getter;
 public class ExternalApiException extends RuntimeException {
 
     private final ErrorResponse errorResponse;
+    private final HttpStatusCode statusCode;
 
     public ExternalApiException(final String message, final ErrorResponse errorResponse) {
+        this(message, errorResponse, null);
+    }
+
+    /**
+     * Creates the exception for an error response received with the given HTTP status.
+     *
+     * @param message       the exception message
+     * @param errorResponse the parsed error response
+     * @param statusCode    the HTTP status of the response
+     */
+    public ExternalApiException(final String message, final ErrorResponse errorResponse, final HttpStatusCode statusCode) {
         super(message);
         this.errorResponse = errorResponse;
+        this.statusCode = statusCode;
     }
 
 }
-
@@ -0,0 +1,29 @@
+package com.task.client.card.app.exception;
+
+import com.task.client.card.app.enums.CardStatus;
+import lombok.Getter;
+
+/**
+ * Thrown when a client's card status would change in a way the card lifecycle does not allow.
+ */
+@Getter
+public class InvalidStatusTransitionException extends RuntimeException {
+
+    private final String oib;
+    private final CardStatus from;
+    private final CardStatus to;
+
+    /**
+     * Creates the exception for the refused change.
+     *
+     * @param oib  OIB of the client
+     * @param from the client's stored status
+     * @param to   the requested status
+     */
+    public InvalidStatusTransitionException(final String oib, final CardStatus from, final CardStatus to) {
+        super("Card status of client " + oib + " cannot change from " + from + " to " + to);
+        this.oib = oib;
+        this.from = from;
+        this.to = to;
+    }
+}
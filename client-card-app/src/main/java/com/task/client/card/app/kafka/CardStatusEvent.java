@@ -0,0 +1,23 @@
+package com.task.client.card.app.kafka;
+
+import com.task.client.card.app.enums.CardStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Event published to the card status topic, keyed by the client's OIB.
+ * {@code apiCode} is the HTTP status returned by the card API, or {@code 0} if the event did not come
+ * from a card API call; {@code timestamp} is in epoch milliseconds.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardStatusEvent {
+
+    private String oib;
+    private CardStatus oldStatus;
+    private CardStatus newStatus;
+    private int apiCode;
+    private long timestamp;
+}
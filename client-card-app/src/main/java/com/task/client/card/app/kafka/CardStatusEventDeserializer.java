@@ -0,0 +1,58 @@
+package com.task.client.card.app.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.client.card.app.enums.CardStatus;
+import com.task.client.card.app.validation.Oib;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Kafka deserializer for {@link CardStatusEvent} accepting both the binary format written by
+ * {@link CardStatusEventSerializer} and JSON, so producers can switch formats without breaking consumers.
+ */
+public class CardStatusEventDeserializer implements Deserializer<CardStatusEvent> {
+
+    private static final CardStatus[] STATUSES = CardStatus.values();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public CardStatusEvent deserialize(final String topic, final byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        if (data[0] == '{') {
+            return fromJson(data);
+        }
+        if (data[0] != CardStatusEventSerializer.VERSION || data.length != CardStatusEventSerializer.SIZE) {
+            throw new SerializationException("Unsupported card status event format, version " + data[0]);
+        }
+
+        final ByteBuffer buffer = ByteBuffer.wrap(data, 1, data.length - 1);
+        final CardStatusEvent event = new CardStatusEvent();
+        event.setOib(Oib.format(buffer.getLong()));
+        event.setOldStatus(status(buffer.get()));
+        event.setNewStatus(status(buffer.get()));
+        event.setApiCode(buffer.getShort());
+        event.setTimestamp(buffer.getLong());
+        return event;
+    }
+
+    private CardStatusEvent fromJson(final byte[] data) {
+        try {
+            return objectMapper.readValue(data, CardStatusEvent.class);
+        } catch (IOException e) {
+            throw new SerializationException("Invalid card status event JSON", e);
+        }
+    }
+
+    private static CardStatus status(final byte code) {
+        if (code < 0 || code > STATUSES.length) {
+            throw new SerializationException("Unknown card status code " + code);
+        }
+        return code == 0 ? null : STATUSES[code - 1];
+    }
+}
@@ -0,0 +1,44 @@
+package com.task.client.card.app.kafka;
+
+import com.task.client.card.app.enums.CardStatus;
+import com.task.client.card.app.validation.Oib;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compact binary Kafka serializer for {@link CardStatusEvent}.
+ * Layout (21 bytes, big-endian): format version (1 byte), OIB packed as by {@link Oib#pack} (8 bytes),
+ * old and new status as {@code ordinal + 1} with {@code 0} for none (1 byte each),
+ * API code (2 bytes) and timestamp in epoch milliseconds (8 bytes).
+ * {@link CardStatusEventDeserializer} reads this format as well as JSON.
+ */
+public class CardStatusEventSerializer implements Serializer<CardStatusEvent> {
+
+    static final byte VERSION = 1;
+    static final int SIZE = 21;
+
+    @Override
+    public byte[] serialize(final String topic, final CardStatusEvent event) {
+        if (event == null) {
+            return null;
+        }
+        final long oib = Oib.pack(event.getOib());
+        if (oib == Oib.INVALID) {
+            throw new SerializationException("Invalid OIB: " + event.getOib());
+        }
+        return ByteBuffer.allocate(SIZE)
+                .put(VERSION)
+                .putLong(oib)
+                .put(statusCode(event.getOldStatus()))
+                .put(statusCode(event.getNewStatus()))
+                .putShort((short) event.getApiCode())
+                .putLong(event.getTimestamp())
+                .array();
+    }
+
+    private static byte statusCode(final CardStatus status) {
+        return status == null ? 0 : (byte) (status.ordinal() + 1);
+    }
+}
@@ -0,0 +1,69 @@
+package com.task.client.card.app.kafka;
+
+import com.task.client.card.app.service.CardStatusUpdateService;
+import com.task.client.card.app.validation.Oib;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kafka consumer for card status updates, used with {@code app.kafka.consumer.mode=batch} (the default).
+ * Records are received in batches and applied in offset order with a single locking read and a single batched
+ * UPDATE, so several updates of the same OIB within a batch go through the card lifecycle step by step.
+ * Offsets are committed by the container only after this listener returns, i.e. after the database transaction
+ * has committed. If the update fails, the error handler of {@code BatchConsumerConfig} redelivers the batch after
+ * {@code app.kafka.consumer.redelivery-delay}, and logs and skips it after {@code app.kafka.consumer.max-attempts}
+ * failed deliveries. See {@link ParallelCardStatusListener} for the parallel mode.
+ */
+@Component
+@ConditionalOnProperty(name = "app.kafka.consumer.mode", havingValue = "batch", matchIfMissing = true)
+public class CardStatusListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardStatusListener.class);
+
+    private final CardStatusUpdateService cardStatusUpdateService;
+
+    public CardStatusListener(final CardStatusUpdateService cardStatusUpdateService) {
+        this.cardStatusUpdateService = cardStatusUpdateService;
+    }
+
+    /**
+     * Applies a batch of card status updates.
+     *
+     * @param events the deserialized events of one poll; {@code null} entries are records that could not be read
+     */
+    @KafkaListener(id = "card-status-listener", groupId = "${spring.kafka.consumer.group-id:my-group}",
+            topics = KafkaService.TOPIC, batch = "true",
+            autoStartup = "${app.kafka.consumer.enabled:true}")
+    public void onStatusUpdates(final List<CardStatusEvent> events) {
+        final List<CardStatusEvent> readable = new ArrayList<>(events.size());
+        for (CardStatusEvent event : events) {
+            if (isReadable(event)) {
+                readable.add(event);
+            }
+        }
+        final int changed = cardStatusUpdateService.applyStatusUpdates(readable);
+        logger.info("Applied card status batch: {} records, {} readable, {} changes", events.size(), readable.size(),
+                changed);
+    }
+
+    /**
+     * Tells whether an event can be applied, logging those that cannot: unreadable records, events without a new
+     * status and events with an invalid OIB are skipped.
+     *
+     * @param event the deserialized event, {@code null} if the record could not be read
+     * @return {@code true} if the event can be applied
+     */
+    static boolean isReadable(final CardStatusEvent event) {
+        if (event == null || event.getNewStatus() == null || Oib.pack(event.getOib()) == Oib.INVALID) {
+            logger.warn("Skipping unreadable card status record: {}", event);
+            return false;
+        }
+        return true;
+    }
+}
@@ -1,34 +1,74 @@
 package com.task.client.card.app.kafka;
 
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.scheduling.annotation.Async;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.client.card.app.entity.OutboxEvent;
+import com.task.client.card.app.repository.OutboxEventRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
 
 /**
- * Kafka consumer for card status updates.
+ * Publisher of card status events to Kafka.
+ * Events are written to the transactional outbox and delivered to the broker by {@link OutboxRelay},
+ * keyed by OIB so that all events of a client land on the same partition.
  */
 @Service
 public class KafkaService {
 
-    private static final String TOPIC = "card-status-topic";
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    static final String TOPIC = "card-status-topic";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
 
 
-    public KafkaService(final KafkaTemplate<String, String> kafkaTemplate) {
-        this.kafkaTemplate = kafkaTemplate;
+    public KafkaService(final OutboxEventRepository outboxEventRepository, final ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
     }
 
     /**
-     * Sends a message asynchronously to the specified Kafka topic.
-     * This method uses Spring's @Async annotation to enable asynchronous execution.
-     * The method will immediately return, and the message will be sent in the background
-     * to the Kafka topic defined by {@code TOPIC}.
+     * Publishes an event to the card status topic by storing it in the outbox.
+     * When called inside an existing transaction the event is committed or rolled back together
+     * with the caller's changes; otherwise it is stored in its own transaction.
+     * The event is durable once this method returns and is sent to Kafka shortly afterwards.
      *
-     * @param message the message to be sent to the Kafka topic.
+     * @param event the event to be sent to the Kafka topic.
      */
-    @Async
-    public void sendAsync(final String message) {
-        kafkaTemplate.send(TOPIC, message);
-        System.out.println("Received card status update: " + message);
+    @Transactional
+    public void publish(final CardStatusEvent event) {
+        outboxEventRepository.save(outboxEvent(event, Instant.now()));
+    }
+
+    /**
+     * Publishes several events to the card status topic by storing them in the outbox with one
+     * {@code saveAll}, which Hibernate sends as JDBC batches. Transaction handling is the same as for
+     * {@link #publish(CardStatusEvent)}.
+     *
+     * @param events the events to be sent to the Kafka topic.
+     */
+    @Transactional
+    public void publishAll(final List<CardStatusEvent> events) {
+        final Instant now = Instant.now();
+        outboxEventRepository.saveAll(events.stream().map(event -> outboxEvent(event, now)).toList());
+    }
+
+    private OutboxEvent outboxEvent(final CardStatusEvent event, final Instant createdAt) {
+        final OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setTopic(TOPIC);
+        outboxEvent.setMessageKey(event.getOib());
+        outboxEvent.setPayload(toJson(event));
+        outboxEvent.setCreatedAt(createdAt);
+        return outboxEvent;
+    }
+
+    private String toJson(final CardStatusEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Card status event cannot be serialized: " + event, e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,204 @@
+package com.task.client.card.app.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.client.card.app.entity.OutboxEvent;
+import com.task.client.card.app.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.common.errors.SerializationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Relays messages from the transactional outbox to Kafka.
+ * Pending events are read in id order in batches of {@code outbox.relay.batch-size}, handed to the producer
+ * together so they share produce requests, and marked delivered once acknowledged. If a send fails, only the
+ * events before it are marked, so the rest are retried in order on the next run. Events that can never be sent
+ * because they cannot be read or serialized are logged and marked delivered.
+ * Only one application instance should run the relay ({@code outbox.relay.enabled}).
+ * The time from send to acknowledgement is recorded as {@code outbox.relay.send} (tagged by result), and the
+ * time from writing an event to the outbox until Kafka acknowledged it as {@code outbox.delivery.lag}.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, CardStatusEvent> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Duration retention;
+    private final Timer sendSuccess;
+    private final Timer sendFailure;
+    private final Timer deliveryLag;
+
+    /**
+     * Creates the relay.
+     *
+     * @param outboxEventRepository repository of pending events
+     * @param kafkaTemplate         template used to send the events
+     * @param objectMapper          mapper used to read the stored events
+     * @param batchSize             maximum number of events relayed per batch
+     * @param sendTimeout           how long to wait for the broker to acknowledge a batch
+     * @param retention             how long delivered events are kept before being purged
+     * @param meterRegistry         registry receiving the relay timings
+     */
+    public OutboxRelay(final OutboxEventRepository outboxEventRepository,
+                       final KafkaTemplate<String, CardStatusEvent> kafkaTemplate,
+                       final ObjectMapper objectMapper,
+                       final @Value("${outbox.relay.batch-size:1000}") int batchSize,
+                       final @Value("${outbox.relay.send-timeout:30s}") Duration sendTimeout,
+                       final @Value("${outbox.retention:24h}") Duration retention,
+                       final MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.retention = retention;
+        this.sendSuccess = sendTimer(meterRegistry, "success");
+        this.sendFailure = sendTimer(meterRegistry, "failure");
+        this.deliveryLag = Timer.builder("outbox.delivery.lag")
+                .description("Time from writing an event to the outbox until Kafka acknowledged it")
+                .register(meterRegistry);
+    }
+
+    private static Timer sendTimer(final MeterRegistry meterRegistry, final String result) {
+        return Timer.builder("outbox.relay.send")
+                .description("Time from handing an outbox event to the producer until Kafka acknowledged it")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drains the outbox, batch after batch, until fewer than a full batch is pending or a send fails.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.fixed-delay-ms:500}")
+    public void relay() {
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed == batchSize);
+    }
+
+    /**
+     * Sends the next batch of pending events and marks the acknowledged ones as delivered.
+     *
+     * @return the number of events marked as delivered
+     */
+    public int relayBatch() {
+        final List<OutboxEvent> events = outboxEventRepository.findByDeliveredAtIsNullOrderByIdAsc(
+                PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        final List<CompletableFuture<SendResult<String, CardStatusEvent>>> futures = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            futures.add(send(event));
+        }
+
+        final List<Long> delivered = awaitAcknowledged(events, futures);
+        if (!delivered.isEmpty()) {
+            outboxEventRepository.markDelivered(delivered, Instant.now());
+            logger.debug("Relayed {} outbox events to Kafka", delivered.size());
+        }
+        return delivered.size();
+    }
+
+    /**
+     * Sends one outbox row as a {@link CardStatusEvent}. Rows that cannot be parsed or serialized are logged and
+     * completed immediately, so that they are marked delivered instead of blocking the outbox. Any other error
+     * thrown by the producer, such as a full buffer, is returned as a failed send, so the row is retried.
+     */
+    private CompletableFuture<SendResult<String, CardStatusEvent>> send(final OutboxEvent event) {
+        final CardStatusEvent cardStatusEvent;
+        try {
+            cardStatusEvent = objectMapper.readValue(event.getPayload(), CardStatusEvent.class);
+        } catch (JsonProcessingException e) {
+            logger.error("Discarding unreadable outbox event {}: {}", event.getId(), event.getPayload());
+            return CompletableFuture.completedFuture(null);
+        }
+        final long start = System.nanoTime();
+        final CompletableFuture<SendResult<String, CardStatusEvent>> future;
+        try {
+            future = kafkaTemplate.send(event.getTopic(), event.getMessageKey(), cardStatusEvent);
+        } catch (RuntimeException e) {
+            if (NestedExceptionUtils.getMostSpecificCause(e) instanceof SerializationException) {
+                logger.error("Discarding unserializable outbox event {}: {}", event.getId(), e.getMessage());
+                return CompletableFuture.completedFuture(null);
+            }
+            sendFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((result, error) -> recordSend(event, start, error));
+    }
+
+    private void recordSend(final OutboxEvent event, final long start, final Throwable error) {
+        final long elapsed = System.nanoTime() - start;
+        if (error != null) {
+            sendFailure.record(elapsed, TimeUnit.NANOSECONDS);
+            return;
+        }
+        sendSuccess.record(elapsed, TimeUnit.NANOSECONDS);
+        if (event.getCreatedAt() != null) {
+            deliveryLag.record(Duration.between(event.getCreatedAt(), Instant.now()));
+        }
+    }
+
+    /**
+     * Waits for the sends in order and returns the ids of the events acknowledged before the first failure.
+     */
+    private List<Long> awaitAcknowledged(final List<OutboxEvent> events,
+                                         final List<CompletableFuture<SendResult<String, CardStatusEvent>>> futures) {
+        final List<Long> delivered = new ArrayList<>(events.size());
+        final long deadline = System.nanoTime() + sendTimeout.toNanos();
+        for (int i = 0; i < events.size(); i++) {
+            try {
+                futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                delivered.add(events.get(i).getId());
+            } catch (ExecutionException | TimeoutException e) {
+                logger.warn("Failed to relay outbox event {}, {} events will be retried: {}",
+                        events.get(i).getId(), events.size() - i, e.getMessage());
+                break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        return delivered;
+    }
+
+    /**
+     * Deletes delivered events older than {@code outbox.retention}.
+     */
+    @Scheduled(fixedDelayString = "${outbox.purge.fixed-delay-ms:3600000}")
+    public void purgeDelivered() {
+        final int purged = outboxEventRepository.deleteDeliveredBefore(Instant.now().minus(retention));
+        if (purged > 0) {
+            logger.info("Purged {} delivered outbox events", purged);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.task.client.card.app.kafka;
+
+import com.task.client.card.app.service.CardStatusUpdateService;
+import com.task.client.card.app.validation.Oib;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kafka consumer for card status updates that applies each poll on {@code app.kafka.consumer.lanes} worker
+ * threads, used with {@code app.kafka.consumer.mode=parallel}. Records are sharded into lanes by the hash of
+ * their OIB, so all records of a client go to the same lane in offset order, while different clients are
+ * applied concurrently, each lane in its own transaction. Throughput scales with the number of lanes without
+ * adding partitions.
+ * Offsets are acknowledged manually once all lanes are done. A failed lane is retried record by record to find
+ * the failing record, and a {@link BatchListenerFailedException} pointing at it hands the poll to the container's
+ * error handler, which commits the offsets before it and redelivers the rest until the record is recovered (see
+ * {@code ParallelConsumerConfig}). Records after it that were already applied are remembered by offset and
+ * skipped when they are redelivered. That memory is local to this consumer: if the partition moves to another
+ * consumer in between, those records are applied again, and only events carrying an old status are then ignored.
+ */
+@Component
+@ConditionalOnProperty(name = "app.kafka.consumer.mode", havingValue = "parallel")
+public class ParallelCardStatusListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelCardStatusListener.class);
+
+    private final CardStatusUpdateService cardStatusUpdateService;
+    private final int lanes;
+    private final ThreadPoolTaskExecutor executor;
+    private final Set<String> appliedAhead = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates the listener.
+     *
+     * @param cardStatusUpdateService service applying the updates of one lane
+     * @param meterRegistry           registry receiving the lane pool metrics
+     * @param lanes                   number of lanes and worker threads; {@code 0} uses one per available processor
+     */
+    public ParallelCardStatusListener(final CardStatusUpdateService cardStatusUpdateService,
+                                      final MeterRegistry meterRegistry,
+                                      final @Value("${app.kafka.consumer.lanes:0}") int lanes) {
+        this.cardStatusUpdateService = cardStatusUpdateService;
+        this.lanes = lanes > 0 ? lanes : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(this.lanes);
+        executor.setMaxPoolSize(this.lanes);
+        executor.setThreadNamePrefix("card-status-lane-");
+        executor.initialize();
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "cardStatusLaneExecutor", Tags.empty())
+                .bindTo(meterRegistry);
+    }
+
+    /**
+     * Applies a batch of card status updates lane by lane and acknowledges it.
+     *
+     * @param records        the records of one poll; a {@code null} value is a record that could not be read
+     * @param acknowledgment acknowledges the whole batch once every lane has been applied
+     * @throws BatchListenerFailedException with the index of the first record that could not be applied
+     */
+    @KafkaListener(id = "card-status-listener", groupId = "${spring.kafka.consumer.group-id:my-group}",
+            topics = KafkaService.TOPIC, batch = "true",
+            containerFactory = "parallelKafkaListenerContainerFactory",
+            autoStartup = "${app.kafka.consumer.enabled:true}")
+    public void onStatusUpdates(final List<ConsumerRecord<String, CardStatusEvent>> records,
+                                final Acknowledgment acknowledgment) {
+        final List<CompletableFuture<LaneResult>> futures = new ArrayList<>(lanes);
+        for (List<Integer> lane : shard(records)) {
+            if (!lane.isEmpty()) {
+                futures.add(CompletableFuture.supplyAsync(() -> applyLane(records, lane), executor));
+            }
+        }
+        final List<LaneResult> results = futures.stream().map(CompletableFuture::join).toList();
+        final LaneResult failure = results.stream()
+                .filter(result -> result.failed() >= 0)
+                .min(Comparator.comparingInt(LaneResult::failed))
+                .orElse(null);
+        rememberAppliedAhead(records, results, failure != null ? failure.failed() : records.size());
+        if (failure == null) {
+            acknowledgment.acknowledge();
+            logger.info("Applied card status batch: {} records in {} lanes", records.size(), results.size());
+            return;
+        }
+        logger.warn("Card status batch of {} records failed at record {}", records.size(), failure.failed());
+        throw new BatchListenerFailedException("Applying card status record failed", failure.error(), failure.failed());
+    }
+
+    /**
+     * Stops the lane workers.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Splits the indexes of the readable records not applied before into lanes by OIB, keeping offset order within
+     * every lane.
+     */
+    private List<List<Integer>> shard(final List<ConsumerRecord<String, CardStatusEvent>> records) {
+        final List<List<Integer>> byLane = new ArrayList<>(lanes);
+        for (int i = 0; i < lanes; i++) {
+            byLane.add(new ArrayList<>());
+        }
+        for (int i = 0; i < records.size(); i++) {
+            final CardStatusEvent event = records.get(i).value();
+            if (CardStatusListener.isReadable(event) && !isAppliedAhead(records.get(i))) {
+                byLane.get(Math.floorMod(Long.hashCode(Oib.pack(event.getOib())), lanes)).add(i);
+            }
+        }
+        return byLane;
+    }
+
+    /**
+     * Applies the records of one lane in one transaction; if that fails, applies them one transaction per record
+     * until the first failing one.
+     */
+    private LaneResult applyLane(final List<ConsumerRecord<String, CardStatusEvent>> records, final List<Integer> lane) {
+        try {
+            cardStatusUpdateService.applyStatusUpdates(lane.stream().map(index -> records.get(index).value()).toList());
+            return new LaneResult(lane, -1, null);
+        } catch (RuntimeException e) {
+            logger.warn("Applying card status lane of {} records failed, retrying record by record", lane.size(), e);
+        }
+        for (int i = 0; i < lane.size(); i++) {
+            try {
+                cardStatusUpdateService.applyStatusUpdates(List.of(records.get(lane.get(i)).value()));
+            } catch (RuntimeException e) {
+                logger.error("Applying card status record {} failed", records.get(lane.get(i)).value(), e);
+                return new LaneResult(lane.subList(0, i), lane.get(i), e);
+            }
+        }
+        return new LaneResult(lane, -1, null);
+    }
+
+    /**
+     * Forgets the remembered records up to {@code failed}, whose offsets are committed, and remembers the records
+     * after it that were applied, since they will be redelivered.
+     */
+    private void rememberAppliedAhead(final List<ConsumerRecord<String, CardStatusEvent>> records,
+                                      final List<LaneResult> results, final int failed) {
+        if (!appliedAhead.isEmpty()) {
+            for (int i = 0; i < failed; i++) {
+                appliedAhead.remove(offsetKey(records.get(i)));
+            }
+        }
+        for (LaneResult result : results) {
+            for (int index : result.applied()) {
+                if (index > failed) {
+                    appliedAhead.add(offsetKey(records.get(index)));
+                }
+            }
+        }
+    }
+
+    private boolean isAppliedAhead(final ConsumerRecord<String, CardStatusEvent> record) {
+        return !appliedAhead.isEmpty() && appliedAhead.contains(offsetKey(record));
+    }
+
+    private static String offsetKey(final ConsumerRecord<?, ?> record) {
+        return record.topic() + '-' + record.partition() + '@' + record.offset();
+    }
+
+    /**
+     * Outcome of one lane: the indexes of the applied records and, if the lane failed, the index of the failed
+     * record ({@code -1} otherwise) and its error.
+     */
+    private record LaneResult(List<Integer> applied, int failed, RuntimeException error) {
+    }
+}
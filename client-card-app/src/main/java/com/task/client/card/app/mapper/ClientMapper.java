@@ -1,9 +1,12 @@
 package com.task.client.card.app.mapper;
 
 import com.task.client.card.app.dto.ClientDTO;
+import com.task.client.card.app.dto.ClientView;
 import com.task.client.card.app.dto.NewCardRequest;
 import com.task.client.card.app.entity.Client;
 
+import java.time.Instant;
+
 /**
  * Utility class for mapping between ClientDTO and Client entities.
  */
@@ -24,16 +27,17 @@ public final class ClientMapper {
         client.setLastName(clientDTO.getLastName());
         client.setOib(clientDTO.getOib());
         client.setCardStatus(clientDTO.getCardStatus());
+        client.setCardStatusChangedAt(Instant.now());
         return client;
     }
 
     /**
-     * Converts Client entity to NewCardRequest DTO.
+     * Converts a client view to NewCardRequest DTO.
      *
-     * @param client the client entity to convert
+     * @param client the client view to convert
      * @return the corresponding NewCardRequest DTO
      */
-    public static NewCardRequest toNewCardRequestDto(final Client client) {
+    public static NewCardRequest toNewCardRequestDto(final ClientView client) {
         final NewCardRequest newCardRequest = new NewCardRequest();
         newCardRequest.setFirstName(client.getFirstName());
         newCardRequest.setLastName(client.getLastName());
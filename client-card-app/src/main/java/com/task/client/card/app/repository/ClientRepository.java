@@ -1,13 +1,123 @@
 package com.task.client.card.app.repository;
 
+import com.task.client.card.app.config.CacheConfig;
+import com.task.client.card.app.dto.ClientView;
 import com.task.client.card.app.entity.Client;
+import com.task.client.card.app.enums.CardStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for accessing client data from the database.
+ * Read queries return {@link ClientView}s built by JPQL constructor expressions rather than managed entities.
+ * Lookups by OIB are served from the {@value CacheConfig#CLIENTS_CACHE} cache; single-client writes evict
+ * the affected entry. Bulk writes that bypass these methods must evict their OIBs themselves.
  */
 public interface ClientRepository extends JpaRepository<Client, Long> {
-    Client findByOib(String oib);
 
-    void deleteByOib(String oib);
+    /**
+     * Select clause loading {@link ClientView}s; queries append their {@code where} and {@code order by}.
+     */
+    String SELECT_VIEW = "select new com.task.client.card.app.dto.ClientView("
+            + "c.id, c.firstName, c.lastName, c.oib, c.cardStatus, c.version) from Client c ";
+
+    /**
+     * Loads the read-only view of a client.
+     *
+     * @param oib OIB of the client
+     * @return the client's view, or {@code null} if no client has this OIB
+     */
+    @Cacheable(cacheNames = CacheConfig.CLIENTS_CACHE, key = "#p0", unless = "#result == null")
+    @Query(SELECT_VIEW + "where c.oib = :oib")
+    ClientView findByOib(@Param("oib") String oib);
+
+    /**
+     * Returns the card statuses of the clients with the given OIBs and locks their rows until the transaction ends,
+     * so that deleting them afterwards in the same transaction removes exactly these statuses.
+     *
+     * @param oibs OIBs of the clients about to be deleted
+     * @return one card status per stored client, {@code null} for a client without a status
+     */
+    @Query(value = "select card_status from client where oib in (:oibs) for update", nativeQuery = true)
+    List<CardStatus> lockCardStatuses(@Param("oibs") Collection<String> oibs);
+
+    /**
+     * Deletes a client with a single DELETE statement, without loading the entity first.
+     *
+     * @param oib OIB of the client to delete
+     * @return the number of deleted rows, {@code 0} if no client has this OIB
+     */
+    @Transactional
+    @Modifying
+    @CacheEvict(cacheNames = CacheConfig.CLIENTS_CACHE, key = "#p0")
+    @Query("delete from Client c where c.oib = :oib")
+    int deleteByOib(@Param("oib") String oib);
+
+    /**
+     * Deletes the clients with the given OIBs with a single DELETE statement.
+     * The client cache is not evicted; callers must evict the OIBs themselves.
+     *
+     * @param oibs OIBs of the clients to delete
+     * @return the number of deleted rows
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from Client c where c.oib in :oibs")
+    int deleteByOibIn(@Param("oibs") Collection<String> oibs);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.CLIENTS_CACHE, key = "#p0.oib")
+    <S extends Client> S save(S client);
+
+    @Query(SELECT_VIEW + "where c.oib in :oibs")
+    List<ClientView> findByOibIn(@Param("oibs") Collection<String> oibs);
+
+    @Query(SELECT_VIEW + "where c.cardStatus = :cardStatus")
+    List<ClientView> findByCardStatus(@Param("cardStatus") CardStatus cardStatus);
+
+    @Query(SELECT_VIEW + "where c.id > :afterId order by c.id")
+    List<ClientView> findByIdGreaterThanOrderByIdAsc(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query(SELECT_VIEW + "where c.cardStatus = :cardStatus and c.id > :afterId order by c.id")
+    List<ClientView> findByCardStatusAndIdGreaterThanOrderByIdAsc(@Param("cardStatus") CardStatus cardStatus,
+                                                                  @Param("afterId") long afterId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_VIEW + "order by c.id")
+    Stream<ClientView> streamAllByOrderByIdAsc();
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_VIEW + "where c.cardStatus = :cardStatus order by c.id")
+    Stream<ClientView> streamByCardStatusOrderByIdAsc(@Param("cardStatus") CardStatus cardStatus);
+
+    /**
+     * Counts clients per card status with a single aggregate query.
+     *
+     * @return one {@code [CardStatus, Long]} row per status present in the database
+     */
+    @Query("select c.cardStatus, count(c) from Client c group by c.cardStatus")
+    List<Object[]> countPerCardStatus();
+
+    /**
+     * Returns those of the given OIBs that are already stored, without loading the entities.
+     *
+     * @param oibs the OIBs to check
+     * @return the subset of {@code oibs} that already exists in the database
+     */
+    @Query("select c.oib from Client c where c.oib in :oibs")
+    Set<String> findExistingOibs(@Param("oibs") Collection<String> oibs);
 }
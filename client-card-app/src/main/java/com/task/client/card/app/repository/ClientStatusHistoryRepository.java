@@ -0,0 +1,28 @@
+package com.task.client.card.app.repository;
+
+import com.task.client.card.app.dto.CardStatusChange;
+import com.task.client.card.app.entity.ClientStatusHistory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Repository interface for the append-only card status history. Rows are written with {@code saveAll}, which
+ * Hibernate sends as JDBC batches.
+ */
+public interface ClientStatusHistoryRepository extends JpaRepository<ClientStatusHistory, Long> {
+
+    /**
+     * Loads the status changes of a client, newest first, using the {@code (oib, changed_at)} index.
+     *
+     * @param oib      OIB of the client
+     * @param pageable limits the number of returned changes
+     * @return the client's status changes, empty if it has none
+     */
+    @Query("select new com.task.client.card.app.dto.CardStatusChange(h.fromStatus, h.toStatus, h.changedAt) "
+            + "from ClientStatusHistory h where h.oib = :oib order by h.changedAt desc, h.id desc")
+    List<CardStatusChange> findByOib(@Param("oib") String oib, Pageable pageable);
+}
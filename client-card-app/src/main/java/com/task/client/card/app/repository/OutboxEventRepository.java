@@ -0,0 +1,44 @@
+package com.task.client.card.app.repository;
+
+import com.task.client.card.app.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for accessing the transactional outbox.
+ */
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    List<OutboxEvent> findByDeliveredAtIsNullOrderByIdAsc(Pageable pageable);
+
+    /**
+     * Marks the given events as delivered with a single UPDATE statement.
+     *
+     * @param ids         ids of the delivered events
+     * @param deliveredAt delivery timestamp
+     * @return the number of updated rows
+     */
+    @Transactional
+    @Modifying
+    @Query("update OutboxEvent e set e.deliveredAt = :deliveredAt where e.id in :ids")
+    int markDelivered(@Param("ids") Collection<Long> ids, @Param("deliveredAt") Instant deliveredAt);
+
+    /**
+     * Removes events that were delivered before the given instant.
+     *
+     * @param before cut-off timestamp
+     * @return the number of deleted rows
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxEvent e where e.deliveredAt < :before")
+    int deleteDeliveredBefore(@Param("before") Instant before);
+}
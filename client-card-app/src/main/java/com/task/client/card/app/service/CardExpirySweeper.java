@@ -0,0 +1,150 @@
+package com.task.client.card.app.service;
+
+import com.task.client.card.app.enums.CardStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scheduled job moving active cards to {@link CardStatus#EXPIRED} once their status has not changed for
+ * {@code card.expiry.validity}. The ids of active clients are split into keyset ranges of
+ * {@code card.expiry.range-size} ids, and each range is expired in its own short transaction by
+ * {@link CardStatusUpdateService#expireCards}, with up to {@code card.expiry.workers} ranges processed in parallel.
+ * The sweep runs on the worker pool, so the scheduler thread is not held while it runs, and a sweep is skipped
+ * while the previous one is still running. Expired cards are counted as {@code card.expiry.expired}.
+ */
+@Component
+@ConditionalOnProperty(name = "card.expiry.enabled", havingValue = "true", matchIfMissing = true)
+public class CardExpirySweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardExpirySweeper.class);
+
+    private final CardStatusUpdateService cardStatusUpdateService;
+    private final Duration validity;
+    private final long rangeSize;
+    private final ThreadPoolTaskExecutor executor;
+    private final Counter expired;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Creates the sweeper.
+     *
+     * @param cardStatusUpdateService service expiring the cards of one id range
+     * @param meterRegistry           registry receiving the expiry counter and worker pool metrics
+     * @param validity                how long a card stays active before it expires
+     * @param workers                 number of id ranges processed in parallel
+     * @param rangeSize               number of ids per range and transaction
+     */
+    public CardExpirySweeper(final CardStatusUpdateService cardStatusUpdateService,
+                             final MeterRegistry meterRegistry,
+                             final @Value("${card.expiry.validity:1096d}") Duration validity,
+                             final @Value("${card.expiry.workers:4}") int workers,
+                             final @Value("${card.expiry.range-size:10000}") long rangeSize) {
+        this.cardStatusUpdateService = cardStatusUpdateService;
+        this.validity = validity;
+        this.rangeSize = rangeSize;
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setThreadNamePrefix("card-expiry-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "cardExpiryExecutor", Tags.empty())
+                .bindTo(meterRegistry);
+        this.expired = Counter.builder("card.expiry.expired")
+                .description("Active cards moved to EXPIRED by the expiry sweep")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts a sweep on the cron schedule {@code card.expiry.cron}.
+     */
+    @Scheduled(cron = "${card.expiry.cron:0 0 2 * * *}")
+    public void scheduledSweep() {
+        sweep();
+    }
+
+    /**
+     * Expires every active card whose status changed before now minus {@code card.expiry.validity}.
+     * A range that fails is logged and left for the next sweep; the other ranges are still processed.
+     *
+     * @return a future completed with the number of expired cards once all ranges are done, or with {@code 0}
+     *         right away if a sweep is already running
+     */
+    public CompletableFuture<Long> sweep() {
+        if (!running.compareAndSet(false, true)) {
+            logger.warn("Card expiry sweep still running, skipping this run");
+            return CompletableFuture.completedFuture(0L);
+        }
+        final Instant start = Instant.now();
+        final AtomicInteger failed = new AtomicInteger();
+        final List<CompletableFuture<Integer>> ranges;
+        try {
+            ranges = submitRanges(start.minus(validity), failed);
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        return CompletableFuture.allOf(ranges.toArray(CompletableFuture[]::new))
+                .thenApply(done -> ranges.stream().mapToLong(CompletableFuture::join).sum())
+                .whenComplete((total, e) -> {
+                    running.set(false);
+                    logger.info("Card expiry sweep finished in {}: {} cards expired in {} ranges, {} ranges failed",
+                            Duration.between(start, Instant.now()), total, ranges.size(), failed.get());
+                });
+    }
+
+    /**
+     * Stops the workers; a sweep in progress is abandoned after its current ranges and resumed by the next one.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Splits the ids of active clients into ranges and queues one expiry task per range.
+     */
+    private List<CompletableFuture<Integer>> submitRanges(final Instant activeBefore, final AtomicInteger failed) {
+        final List<CompletableFuture<Integer>> ranges = new ArrayList<>();
+        final long[] ids = cardStatusUpdateService.findIdRange(CardStatus.ACTIVE);
+        if (ids == null) {
+            return ranges;
+        }
+        for (long after = ids[0] - 1; after < ids[1]; after += rangeSize) {
+            final long from = after;
+            final long to = Math.min(after + rangeSize, ids[1]);
+            ranges.add(CompletableFuture.supplyAsync(() -> expire(from, to, activeBefore, failed), executor));
+        }
+        return ranges;
+    }
+
+    private int expire(final long afterId, final long toId, final Instant activeBefore, final AtomicInteger failed) {
+        try {
+            final int count = cardStatusUpdateService.expireCards(afterId, toId, activeBefore);
+            expired.increment(count);
+            return count;
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            logger.error("Card expiry failed for ids ({}, {}]", afterId, toId, e);
+            return 0;
+        }
+    }
+}
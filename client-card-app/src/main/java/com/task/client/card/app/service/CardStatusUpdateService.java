@@ -0,0 +1,210 @@
+package com.task.client.card.app.service;
+
+import com.task.client.card.app.config.CacheConfig;
+import com.task.client.card.app.entity.ClientStatusHistory;
+import com.task.client.card.app.enums.CardStatus;
+import com.task.client.card.app.kafka.CardStatusEvent;
+import com.task.client.card.app.kafka.KafkaService;
+import com.task.client.card.app.repository.ClientStatusHistoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service applying card status updates to stored clients, both those received from the card processor and the
+ * expiry of active cards. Updates are checked against the card lifecycle ({@link CardStatus#canTransitionTo}) and
+ * every applied change is appended to the status history in the same transaction.
+ */
+@Service
+public class CardStatusUpdateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardStatusUpdateService.class);
+
+    private static final String LOCK_STATUSES_SQL =
+            "SELECT oib, card_status FROM client WHERE oib IN (:oibs) ORDER BY oib FOR UPDATE";
+
+    private static final String UPDATE_STATUS_SQL =
+            "UPDATE client SET card_status = ?, card_status_changed_at = ?, version = version + 1 WHERE oib = ?";
+
+    private static final String ID_RANGE_SQL = "SELECT MIN(id), MAX(id) FROM client WHERE card_status = ?";
+
+    private static final String LOCK_DUE_SQL =
+            "SELECT oib FROM client WHERE card_status = ? AND id > ? AND id <= ? AND card_status_changed_at < ? FOR UPDATE";
+
+    private static final String EXPIRE_SQL =
+            "UPDATE client SET card_status = ?, card_status_changed_at = ?, version = version + 1 "
+                    + "WHERE card_status = ? AND id > ? AND id <= ? AND card_status_changed_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final ClientStatusHistoryRepository historyRepository;
+    private final KafkaService kafkaService;
+    private final Cache clientCache;
+    private final ClientStatusCounters statusCounters;
+
+    /**
+     * Creates the service.
+     *
+     * @param jdbcTemplate      template used for the locking read and the batched updates
+     * @param historyRepository repository receiving one history row per applied change
+     * @param kafkaService      service publishing the status events of expired cards
+     * @param cacheManager      cache manager holding the client cache, evicted for every changed OIB
+     * @param statusCounters    per-status counters, adjusted for every applied change
+     */
+    public CardStatusUpdateService(final JdbcTemplate jdbcTemplate, final ClientStatusHistoryRepository historyRepository,
+                                   final KafkaService kafkaService, final CacheManager cacheManager,
+                                   final ClientStatusCounters statusCounters) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.historyRepository = historyRepository;
+        this.kafkaService = kafkaService;
+        this.clientCache = cacheManager.getCache(CacheConfig.CLIENTS_CACHE);
+        this.statusCounters = statusCounters;
+    }
+
+    /**
+     * Applies the events to their clients in list order. The current statuses are read and locked with one query,
+     * every event is checked against the status its client has after the preceding events, and the final status of
+     * every changed client is sent to the database as one JDBC batch, with one history row per applied event as
+     * another. Several events of the same OIB are therefore applied step by step, as the card lifecycle requires.
+     * Events of unknown clients, repeating the current status, or whose old status is set and differs from the
+     * client's status are ignored, so a redelivered event carrying its old status changes nothing. An event without
+     * an old status is applied again if the lifecycle allows it, so callers must not redeliver applied events;
+     * changes the card lifecycle does not allow are logged and skipped. The version of every changed client
+     * is incremented, so concurrent conditional updates of it fail. Cached entries of the affected OIBs are evicted
+     * once the transaction commits.
+     *
+     * @param events the status updates to apply, in the order they were produced for each OIB
+     * @return the number of applied status changes
+     */
+    @Transactional
+    public int applyStatusUpdates(final List<CardStatusEvent> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        final Map<String, CardStatus> current = lockStatuses(events);
+        final List<ClientStatusHistory> changes = new ArrayList<>(events.size());
+        final Instant now = Instant.now();
+        for (CardStatusEvent event : events) {
+            if (!current.containsKey(event.getOib())) {
+                continue;
+            }
+            final CardStatus from = current.get(event.getOib());
+            if (isApplicable(event, from)) {
+                changes.add(ClientStatusHistory.of(event.getOib(), from, event.getNewStatus(), now));
+                current.put(event.getOib(), event.getNewStatus());
+            }
+        }
+        if (!changes.isEmpty()) {
+            apply(changes, current);
+        }
+        return changes.size();
+    }
+
+    /**
+     * Tells whether an event changes its client's current status {@code from} in a way the card lifecycle allows.
+     */
+    private static boolean isApplicable(final CardStatusEvent event, final CardStatus from) {
+        final CardStatus to = event.getNewStatus();
+        if (from == to || event.getOldStatus() != null && event.getOldStatus() != from) {
+            return false;
+        }
+        if (from != null && !from.canTransitionTo(to)) {
+            logger.warn("Ignoring card status change of client {} from {} to {}: not allowed", event.getOib(), from, to);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the lowest and highest id of the clients with the given status, using the card status index.
+     *
+     * @param status the card status
+     * @return {@code [min, max]}, or {@code null} if no client has the status
+     */
+    public long[] findIdRange(final CardStatus status) {
+        return jdbcTemplate.query(ID_RANGE_SQL, rs -> {
+            rs.next();
+            final long max = rs.getLong(2);
+            return rs.wasNull() ? null : new long[]{rs.getLong(1), max};
+        }, status.name());
+    }
+
+    /**
+     * Expires the active cards of clients with an id in {@code (afterId, toId]} whose status has not changed since
+     * {@code activeBefore}. The due rows are locked and updated with two statements, so only this id range is locked
+     * and only for the duration of this transaction. Their history rows and status events are written in batches in
+     * the same transaction; the events reach {@code card-status-topic} through the outbox.
+     *
+     * @param afterId      exclusive lower bound of the id range
+     * @param toId         inclusive upper bound of the id range
+     * @param activeBefore cards active since before this instant are expired
+     * @return the number of expired cards
+     */
+    @Transactional
+    public int expireCards(final long afterId, final long toId, final Instant activeBefore) {
+        final Timestamp cutoff = Timestamp.from(activeBefore);
+        final List<String> oibs = jdbcTemplate.queryForList(LOCK_DUE_SQL, String.class,
+                CardStatus.ACTIVE.name(), afterId, toId, cutoff);
+        if (oibs.isEmpty()) {
+            return 0;
+        }
+        final Instant now = Instant.now();
+        jdbcTemplate.update(EXPIRE_SQL, CardStatus.EXPIRED.name(), Timestamp.from(now),
+                CardStatus.ACTIVE.name(), afterId, toId, cutoff);
+        historyRepository.saveAll(oibs.stream()
+                .map(oib -> ClientStatusHistory.of(oib, CardStatus.ACTIVE, CardStatus.EXPIRED, now))
+                .toList());
+        kafkaService.publishAll(oibs.stream()
+                .map(oib -> new CardStatusEvent(oib, CardStatus.ACTIVE, CardStatus.EXPIRED, 0, now.toEpochMilli()))
+                .toList());
+        oibs.forEach(clientCache::evict);
+        statusCounters.changed(CardStatus.ACTIVE, CardStatus.EXPIRED, oibs.size());
+        return oibs.size();
+    }
+
+    /**
+     * Reads the current statuses of the events' clients, locking their rows until the transaction ends.
+     * A client without a status is mapped to {@code null}; unknown OIBs are absent.
+     */
+    private Map<String, CardStatus> lockStatuses(final List<CardStatusEvent> events) {
+        final Map<String, CardStatus> statuses = new HashMap<>(events.size() * 2);
+        namedJdbcTemplate.query(LOCK_STATUSES_SQL,
+                Map.of("oibs", events.stream().map(CardStatusEvent::getOib).distinct().toList()),
+                rs -> {
+                    final String status = rs.getString("card_status");
+                    statuses.put(rs.getString("oib"), status != null ? CardStatus.valueOf(status) : null);
+                });
+        return statuses;
+    }
+
+    /**
+     * Writes the final status of every changed client and the history rows of all applied changes.
+     */
+    private void apply(final List<ClientStatusHistory> changes, final Map<String, CardStatus> finalStatuses) {
+        final List<String> oibs = changes.stream().map(ClientStatusHistory::getOib).distinct().toList();
+        final Timestamp changedAt = Timestamp.from(changes.get(0).getChangedAt());
+        jdbcTemplate.batchUpdate(UPDATE_STATUS_SQL, oibs, oibs.size(), (ps, oib) -> {
+            ps.setString(1, finalStatuses.get(oib).name());
+            ps.setTimestamp(2, changedAt);
+            ps.setString(3, oib);
+        });
+        historyRepository.saveAll(changes);
+        oibs.forEach(clientCache::evict);
+        for (ClientStatusHistory change : changes) {
+            statusCounters.changed(change.getFromStatus(), change.getToStatus());
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.task.client.card.app.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.task.client.card.app.api.CardApiClient;
+import com.task.client.card.app.dto.CardSubmissionResult;
+import com.task.client.card.app.dto.ClientView;
+import com.task.client.card.app.dto.ErrorResponse;
+import com.task.client.card.app.dto.SendBatchRequest;
+import com.task.client.card.app.enums.SubmissionOutcome;
+import com.task.client.card.app.exception.ConcurrencyLimitExceededException;
+import com.task.client.card.app.exception.ExternalApiException;
+import com.task.client.card.app.kafka.CardStatusEvent;
+import com.task.client.card.app.kafka.KafkaService;
+import com.task.client.card.app.mapper.ClientMapper;
+import com.task.client.card.app.repository.ClientRepository;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service responsible for sending clients to the external card API and publishing the outcome to Kafka.
+ * Batch submissions are dispatched concurrently, with at most {@code card.api.batch.max-in-flight}
+ * requests outstanding at any time.
+ * Submissions are de-duplicated: concurrent submissions of the same OIB share one outbound call, and
+ * submissions carrying an idempotency key return the stored result of the first submission with that key
+ * for {@code card.api.idempotency.ttl}. Deduplicated submissions are counted as
+ * {@code card.api.submissions.deduplicated}.
+ */
+@Service
+public class CardSubmissionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardSubmissionService.class);
+
+    private final CardApiClient cardApiClient;
+    private final KafkaService kafkaService;
+    private final ClientRepository clientRepository;
+    private final int maxInFlight;
+    private final Map<String, Mono<CardSubmissionResult>> inFlight = new ConcurrentHashMap<>();
+    private final Cache<String, Mono<CardSubmissionResult>> idempotentResults;
+    private final Counter coalesced;
+    private final Counter replayed;
+
+    /**
+     * Creates the service.
+     *
+     * @param cardApiClient      client used for the external card API
+     * @param kafkaService       service used to publish submission outcomes
+     * @param clientRepository   repository used to load the clients of a batch
+     * @param meterRegistry      registry receiving the deduplication counters
+     * @param maxInFlight        maximum number of concurrent requests during a batch submission
+     * @param idempotencyTtl     how long the result of a submission with an idempotency key is kept
+     * @param idempotencyMaxKeys maximum number of idempotency keys kept, oldest evicted first
+     */
+    public CardSubmissionService(final CardApiClient cardApiClient,
+                                 final KafkaService kafkaService,
+                                 final ClientRepository clientRepository,
+                                 final MeterRegistry meterRegistry,
+                                 final @Value("${card.api.batch.max-in-flight:32}") int maxInFlight,
+                                 final @Value("${card.api.idempotency.ttl:24h}") Duration idempotencyTtl,
+                                 final @Value("${card.api.idempotency.max-keys:100000}") long idempotencyMaxKeys) {
+        this.cardApiClient = cardApiClient;
+        this.kafkaService = kafkaService;
+        this.clientRepository = clientRepository;
+        this.maxInFlight = maxInFlight;
+        this.idempotentResults = Caffeine.newBuilder()
+                .expireAfterWrite(idempotencyTtl)
+                .maximumSize(idempotencyMaxKeys)
+                .build();
+        this.coalesced = deduplicatedCounter(meterRegistry, "in_flight");
+        this.replayed = deduplicatedCounter(meterRegistry, "idempotency_key");
+    }
+
+    private static Counter deduplicatedCounter(final MeterRegistry meterRegistry, final String reason) {
+        return Counter.builder("card.api.submissions.deduplicated")
+                .description("Submissions answered without a new call to the card API")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sends a client once per idempotency key. The first submission with a key is performed normally and
+     * its result is kept; later or concurrent submissions of the same client with the same key return that
+     * result without calling the API again. Keys are scoped to the client's OIB. Results with outcome
+     * {@link SubmissionOutcome#FAILED} or {@link SubmissionOutcome#UNAVAILABLE} are not kept, so a retry
+     * with the same key is attempted again.
+     *
+     * @param client         the client to send
+     * @param idempotencyKey key identifying the submission, chosen by the caller
+     * @return a {@link Mono} emitting the outcome of the submission
+     */
+    public Mono<CardSubmissionResult> submit(final ClientView client, final String idempotencyKey) {
+        final String key = client.getOib() + ':' + idempotencyKey;
+        return Mono.defer(() -> {
+            final boolean[] created = new boolean[1];
+            final Mono<CardSubmissionResult> result = idempotentResults.get(key, k -> {
+                created[0] = true;
+                return submit(client)
+                        .doOnNext(r -> {
+                            if (r.getOutcome() == SubmissionOutcome.FAILED || r.getOutcome() == SubmissionOutcome.UNAVAILABLE) {
+                                idempotentResults.invalidate(k);
+                            }
+                        })
+                        .cache();
+            });
+            if (!created[0]) {
+                replayed.increment();
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Sends a client to the external card API, joining a submission of the same OIB that is already in
+     * flight instead of starting a second one.
+     *
+     * @param client the client to send
+     * @return a {@link Mono} emitting the outcome of the submission
+     */
+    public Mono<CardSubmissionResult> submit(final ClientView client) {
+        final String oib = client.getOib();
+        return Mono.defer(() -> {
+            final AtomicReference<Mono<CardSubmissionResult>> self = new AtomicReference<>();
+            final Mono<CardSubmissionResult> call = Mono.defer(() -> send(client))
+                    .doOnEach(signal -> inFlight.remove(oib, self.get()))
+                    .doOnCancel(() -> inFlight.remove(oib, self.get()))
+                    .cache();
+            self.set(call);
+            final Mono<CardSubmissionResult> running = inFlight.putIfAbsent(oib, call);
+            if (running != null) {
+                coalesced.increment();
+                return running;
+            }
+            return call;
+        });
+    }
+
+    /**
+     * Sends a single client to the external card API and publishes the outcome to Kafka.
+     * The outcome is written to the outbox on a worker thread rather than the HTTP client's event loop.
+     * The returned {@link Mono} never fails; errors are reported as the result's outcome. Calls refused by the
+     * card API's circuit breaker, bulkhead or limiters, and calls still throttled with 429 after retrying, are
+     * reported as {@link SubmissionOutcome#UNAVAILABLE}.
+     *
+     * @param client the client to send
+     * @return a {@link Mono} emitting the outcome of the submission
+     */
+    private Mono<CardSubmissionResult> send(final ClientView client) {
+        final String oib = client.getOib();
+        return cardApiClient.requestNewCard(ClientMapper.toNewCardRequestDto(client))
+                .publishOn(Schedulers.boundedElastic())
+                .map(response -> {
+                    logger.info("Data successfully sent to API for OIB: {}, status: {}", oib, response.getStatusCode());
+
+                    kafkaService.publish(statusEvent(client, response.getStatusCode().value()));
+
+                    return new CardSubmissionResult(oib, SubmissionOutcome.SENT, response.getBody().getMessage());
+                })
+                .onErrorResume(CardSubmissionService::isUnavailable, e -> {
+                    logger.warn("Card API unavailable, OIB {} not sent: {}", oib, e.getMessage());
+                    return Mono.just(new CardSubmissionResult(oib, SubmissionOutcome.UNAVAILABLE,
+                            "Card API is unavailable, try again later."));
+                })
+                .onErrorResume(ExternalApiException.class, e -> {
+                    final ErrorResponse errorResponse = e.getErrorResponse();
+                    logger.error("Error while sending data to API: {} -> {}", errorResponse.getCode(),
+                            errorResponse.getDescription());
+
+                    kafkaService.publish(statusEvent(client, apiCode(e)));
+
+                    return Mono.just(new CardSubmissionResult(oib, SubmissionOutcome.REJECTED, errorResponse.getDescription()));
+                })
+                .onErrorResume(e -> {
+                    logger.error("Error while sending data to API for OIB: {}", oib, e);
+                    return Mono.just(new CardSubmissionResult(oib, SubmissionOutcome.FAILED, "Error sending to API."));
+                });
+    }
+
+    /**
+     * Loads the clients selected by the request in a single query and sends them to the external card API
+     * concurrently. OIBs without a stored client are reported as {@link SubmissionOutcome#NOT_FOUND}.
+     *
+     * @param request the batch selection, either a list of OIBs or a card status
+     * @return a {@link Mono} emitting one result per selected client, in request order when OIBs are given
+     */
+    public Mono<List<CardSubmissionResult>> submitBatch(final SendBatchRequest request) {
+        if (request.getStatus() != null) {
+            final List<ClientView> clients = clientRepository.findByCardStatus(request.getStatus());
+            logger.info("Sending {} clients with status {} to API", clients.size(), request.getStatus());
+            return Flux.fromIterable(clients)
+                    .flatMapSequential(this::submit, maxInFlight)
+                    .collectList();
+        }
+
+        final Map<String, ClientView> clientsByOib = clientRepository.findByOibIn(request.getOibs()).stream()
+                .collect(Collectors.toMap(ClientView::getOib, Function.identity()));
+        return Flux.fromIterable(request.getOibs())
+                .flatMapSequential(oib -> {
+                    final ClientView client = clientsByOib.get(oib);
+                    return client != null
+                            ? submit(client)
+                            : Mono.just(new CardSubmissionResult(oib, SubmissionOutcome.NOT_FOUND, "Client not found"));
+                }, maxInFlight)
+                .collectList();
+    }
+
+    /**
+     * Tells whether an error means the card API could not take the request now, so that repeating it later may succeed.
+     */
+    private static boolean isUnavailable(final Throwable e) {
+        if (e instanceof ExternalApiException apiException) {
+            return apiException.getStatusCode() != null
+                    && apiException.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return e instanceof CallNotPermittedException || e instanceof BulkheadFullException
+                || e instanceof RequestNotPermitted || e instanceof ConcurrencyLimitExceededException;
+    }
+
+    /**
+     * Builds the event reporting a card API answer; the client's status is not changed by the submission.
+     */
+    private static CardStatusEvent statusEvent(final ClientView client, final int apiCode) {
+        return new CardStatusEvent(client.getOib(), client.getCardStatus(), client.getCardStatus(), apiCode,
+                System.currentTimeMillis());
+    }
+
+    private static int apiCode(final ExternalApiException e) {
+        if (e.getStatusCode() != null) {
+            return e.getStatusCode().value();
+        }
+        try {
+            return Integer.parseInt(e.getErrorResponse().getCode());
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+}
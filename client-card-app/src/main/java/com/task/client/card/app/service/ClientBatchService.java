@@ -0,0 +1,281 @@
+package com.task.client.card.app.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.client.card.app.config.CacheConfig;
+import com.task.client.card.app.dto.BatchResult;
+import com.task.client.card.app.dto.BatchRowResult;
+import com.task.client.card.app.dto.ClientDTO;
+import com.task.client.card.app.dto.DeleteClientsResult;
+import com.task.client.card.app.entity.Client;
+import com.task.client.card.app.entity.ClientStatusHistory;
+import com.task.client.card.app.enums.CardStatus;
+import com.task.client.card.app.mapper.ClientMapper;
+import com.task.client.card.app.repository.ClientRepository;
+import com.task.client.card.app.repository.ClientStatusHistoryRepository;
+import com.task.client.card.app.validation.Oib;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service for importing and deleting large numbers of clients in one request.
+ * Rows are read one at a time from a JSON array or NDJSON stream, validated, and written in
+ * chunks of {@code client.batch.chunk-size}, each chunk in its own transaction so that Hibernate
+ * can send the inserts as JDBC batches. The initial card status of every stored client is written to the status
+ * history in the same transaction, also as JDBC batches. The persistence context is cleared at the end of every chunk, so
+ * memory and dirty checking stay bounded by the chunk size even when the request holds an open entity manager.
+ * Deletions are issued as one DELETE statement per chunk of OIBs.
+ */
+@Service
+public class ClientBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientBatchService.class);
+
+    private static final String DUPLICATE_OIB = "Client with this OIB already exists.";
+
+    private final ClientRepository clientRepository;
+    private final ClientStatusHistoryRepository historyRepository;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache clientCache;
+    private final ClientStatusCounters statusCounters;
+    private final int chunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Creates the service; each chunk of {@code chunkSize} rows is written in its own transaction.
+     *
+     * @param clientRepository   repository used to store the clients
+     * @param historyRepository  repository receiving the initial status of every stored client
+     * @param validator          bean validator applied to every row
+     * @param objectMapper       mapper used to read the rows from the request body
+     * @param transactionManager transaction manager for the per-chunk transactions
+     * @param cacheManager       cache manager holding the client cache, evicted for every stored OIB
+     * @param statusCounters     per-status counters incremented for every stored client
+     * @param chunkSize          number of rows written per transaction
+     */
+    public ClientBatchService(final ClientRepository clientRepository,
+                              final ClientStatusHistoryRepository historyRepository,
+                              final Validator validator,
+                              final ObjectMapper objectMapper,
+                              final PlatformTransactionManager transactionManager,
+                              final CacheManager cacheManager,
+                              final ClientStatusCounters statusCounters,
+                              final @Value("${client.batch.chunk-size:500}") int chunkSize) {
+        this.clientRepository = clientRepository;
+        this.historyRepository = historyRepository;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clientCache = cacheManager.getCache(CacheConfig.CLIENTS_CACHE);
+        this.statusCounters = statusCounters;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports clients from the given stream, which may contain either a JSON array of clients
+     * or newline-delimited JSON objects.
+     * Invalid rows are rejected individually; a syntax error in the payload stops the import,
+     * keeping the rows read before it.
+     *
+     * @param body the request body stream
+     * @return per-row accept/reject results, ordered by row index
+     * @throws IOException if the stream cannot be read
+     */
+    public BatchResult importClients(final InputStream body) throws IOException {
+        final BatchResult result = new BatchResult();
+        final Set<Long> seenOibs = new HashSet<>();
+        final List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        try (MappingIterator<ClientDTO> rows = objectMapper.readerFor(ClientDTO.class).readValues(body)) {
+            for (; rows.hasNextValue(); index++) {
+                readRow(rows, index, result, seenOibs, chunk);
+            }
+        } catch (JsonParseException e) {
+            logger.warn("Malformed batch payload at row {}: {}", index, e.getOriginalMessage());
+            result.reject(index, null, "Malformed input, import stopped: " + e.getOriginalMessage());
+        }
+
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, result);
+        }
+
+        result.getRows().sort(Comparator.comparingInt(BatchRowResult::getIndex));
+        logger.info("Batch import finished: {} accepted, {} rejected", result.getAccepted(), result.getRejected());
+        return result;
+    }
+
+    /**
+     * Deletes the clients with the given OIBs, one DELETE statement and transaction per chunk of
+     * {@code client.batch.chunk-size} OIBs, and evicts them from the client cache. Duplicate OIBs are ignored,
+     * and OIBs without a stored client are skipped. The statuses of each chunk are read with a locking query before
+     * the delete, so the status counters are adjusted exactly.
+     *
+     * @param oibs the OIBs of the clients to delete
+     * @return the number of distinct OIBs requested and of clients deleted
+     */
+    public DeleteClientsResult deleteClients(final Collection<String> oibs) {
+        final List<String> distinct = oibs.stream().distinct().toList();
+        int deleted = 0;
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            final List<String> chunk = distinct.subList(from, Math.min(from + chunkSize, distinct.size()));
+            deleted += transactionTemplate.execute(status -> deleteChunk(chunk));
+        }
+        logger.info("Batch delete finished: {} of {} clients deleted", deleted, distinct.size());
+        return new DeleteClientsResult(distinct.size(), deleted);
+    }
+
+    private int deleteChunk(final List<String> chunk) {
+        final List<CardStatus> statuses = clientRepository.lockCardStatuses(chunk);
+        if (statuses.isEmpty()) {
+            return 0;
+        }
+        final int deleted = clientRepository.deleteByOibIn(chunk);
+        chunk.forEach(clientCache::evict);
+        statusCounters.deleted(statuses);
+        return deleted;
+    }
+
+    /**
+     * Reads and validates the next row, queueing it for the current chunk and writing the chunk once it is full.
+     */
+    private void readRow(final MappingIterator<ClientDTO> rows, final int index, final BatchResult result,
+                         final Set<Long> seenOibs, final List<PendingRow> chunk) throws IOException {
+        final ClientDTO clientDTO;
+        try {
+            clientDTO = rows.nextValue();
+        } catch (JsonMappingException e) {
+            result.reject(index, null, "Invalid input: " + e.getOriginalMessage());
+            return;
+        }
+
+        final String violations = validate(clientDTO);
+        if (violations != null) {
+            result.reject(index, clientDTO.getOib(), violations);
+        } else if (!seenOibs.add(Oib.pack(clientDTO.getOib()))) {
+            result.reject(index, clientDTO.getOib(), "Duplicate OIB within the batch.");
+        } else {
+            chunk.add(new PendingRow(index, ClientMapper.toClientEntity(clientDTO)));
+            if (chunk.size() >= chunkSize) {
+                writeChunk(chunk, result);
+                chunk.clear();
+            }
+        }
+    }
+
+    /**
+     * Runs bean validation on a row and returns the collected messages, or {@code null} if the row is valid.
+     */
+    private String validate(final ClientDTO clientDTO) {
+        final Set<ConstraintViolation<ClientDTO>> violations = validator.validate(clientDTO);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        final StringBuilder messageBuilder = new StringBuilder("Validation errors:");
+        for (ConstraintViolation<ClientDTO> violation : violations) {
+            messageBuilder.append(violation.getPropertyPath())
+                    .append(": ")
+                    .append(violation.getMessage())
+                    .append(";");
+        }
+        return messageBuilder.toString();
+    }
+
+    /**
+     * Writes one chunk in a single transaction. OIBs already present in the database are rejected up front;
+     * if a concurrent writer still causes a constraint violation, the chunk is retried row by row.
+     */
+    private void writeChunk(final List<PendingRow> chunk, final BatchResult result) {
+        final List<String> oibs = chunk.stream().map(row -> row.client().getOib()).toList();
+        try {
+            final Set<String> existing = transactionTemplate.execute(status -> {
+                final Set<String> stored = clientRepository.findExistingOibs(oibs);
+                final List<Client> created = chunk.stream()
+                        .map(PendingRow::client)
+                        .filter(client -> !stored.contains(client.getOib()))
+                        .toList();
+                clientRepository.saveAll(created);
+                historyRepository.saveAll(created.stream().map(ClientBatchService::initialStatus).toList());
+                oibs.forEach(clientCache::evict);
+                detachAll();
+                return stored;
+            });
+            for (PendingRow row : chunk) {
+                if (existing.contains(row.client().getOib())) {
+                    result.reject(row.index(), row.client().getOib(), DUPLICATE_OIB);
+                } else {
+                    result.accept(row.index(), row.client().getOib());
+                    statusCounters.created(row.client().getCardStatus());
+                }
+            }
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Constraint violation while writing a chunk of {} clients, retrying row by row", chunk.size());
+            for (PendingRow row : chunk) {
+                writeSingle(row, result);
+            }
+        }
+    }
+
+    private void writeSingle(final PendingRow row, final BatchResult result) {
+        final Client client = row.client();
+        client.setId(null);
+        client.setVersion(null);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                clientRepository.save(client);
+                historyRepository.save(initialStatus(client));
+                detachAll();
+            });
+            result.accept(row.index(), client.getOib());
+            statusCounters.created(client.getCardStatus());
+        } catch (DataIntegrityViolationException e) {
+            result.reject(row.index(), client.getOib(), DUPLICATE_OIB);
+        }
+    }
+
+    /**
+     * Flushes the written rows and detaches them, so that a persistence context outliving the transaction, such as the
+     * one opened for the whole request by open-in-view, does not accumulate the entities of every chunk.
+     */
+    private void detachAll() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static ClientStatusHistory initialStatus(final Client client) {
+        return ClientStatusHistory.of(client.getOib(), null, client.getCardStatus(), Instant.now());
+    }
+
+    /**
+     * A validated row waiting to be written, remembering its position in the payload.
+     */
+    private record PendingRow(int index, Client client) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.task.client.card.app.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.task.client.card.app.dto.ClientView;
+import com.task.client.card.app.enums.CardStatus;
+import com.task.client.card.app.repository.ClientRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service streaming all clients as newline-delimited JSON.
+ * Rows are fetched from a database cursor as {@link ClientView}s, which the persistence context does not track,
+ * and written one by one, so memory use does not grow with the number of clients.
+ */
+@Service
+public class ClientExportService {
+
+    private final ClientRepository clientRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Creates the service.
+     *
+     * @param clientRepository   repository providing the client stream
+     * @param objectMapper       mapper used to write the clients
+     * @param transactionManager transaction manager for the read-only export transaction
+     */
+    public ClientExportService(final ClientRepository clientRepository,
+                               final ObjectMapper objectMapper,
+                               final PlatformTransactionManager transactionManager) {
+        this.clientRepository = clientRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Writes all clients, optionally only those with the given status, to the stream in id order.
+     *
+     * @param status the card status to filter by, or {@code null} for all clients
+     * @param out    the stream to write to; it is not closed
+     * @return the number of exported clients
+     */
+    public long exportClients(final CardStatus status, final OutputStream out) {
+        return transactionTemplate.execute(tx -> {
+            try (Stream<ClientView> clients = status == null
+                    ? clientRepository.streamAllByOrderByIdAsc()
+                    : clientRepository.streamByCardStatusOrderByIdAsc(status);
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                         .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                 SequenceWriter writer = objectMapper.writer()
+                         .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                         .withRootValueSeparator("\n")
+                         .writeValues(generator)) {
+                long count = 0;
+                final Iterator<ClientView> iterator = clients.iterator();
+                while (iterator.hasNext()) {
+                    writer.write(iterator.next());
+                    count++;
+                }
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,162 @@
+package com.task.client.card.app.service;
+
+import com.task.client.card.app.enums.CardStatus;
+import com.task.client.card.app.repository.ClientRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory number of clients per card status, so that status statistics never query the database.
+ * Counters are loaded with one {@code GROUP BY} at startup and then adjusted by every write that knows
+ * its status change, once its transaction commits. A full recount runs every
+ * {@code client.stats.reconcile-interval} to correct any drift.
+ */
+@Component
+public class ClientStatusCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientStatusCounters.class);
+
+    private static final CardStatus[] STATUSES = CardStatus.values();
+
+    private final ClientRepository clientRepository;
+    private final Duration reconcileInterval;
+    private final AtomicLongArray counts = new AtomicLongArray(STATUSES.length);
+    private volatile Instant reconciledAt = Instant.EPOCH;
+
+    public ClientStatusCounters(final ClientRepository clientRepository,
+                                final @Value("${client.stats.reconcile-interval:5m}") Duration reconcileInterval) {
+        this.clientRepository = clientRepository;
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    /**
+     * Records a new client with the given status.
+     *
+     * @param status status of the created client
+     */
+    public void created(final CardStatus status) {
+        afterCommit(() -> add(status, 1));
+    }
+
+    /**
+     * Records the removal of a client with the given status.
+     *
+     * @param status status of the deleted client
+     */
+    public void deleted(final CardStatus status) {
+        afterCommit(() -> add(status, -1));
+    }
+
+    /**
+     * Records the removal of several clients.
+     *
+     * @param statuses statuses of the deleted clients, one per client
+     */
+    public void deleted(final Collection<CardStatus> statuses) {
+        afterCommit(() -> statuses.forEach(status -> add(status, -1)));
+    }
+
+    /**
+     * Records a status change of one client.
+     *
+     * @param from previous status
+     * @param to   new status
+     */
+    public void changed(final CardStatus from, final CardStatus to) {
+        afterCommit(() -> {
+            add(from, -1);
+            add(to, 1);
+        });
+    }
+
+    /**
+     * Records the same status change of several clients.
+     *
+     * @param from  previous status
+     * @param to    new status
+     * @param count number of changed clients
+     */
+    public void changed(final CardStatus from, final CardStatus to, final long count) {
+        afterCommit(() -> {
+            add(from, -count);
+            add(to, count);
+        });
+    }
+
+    /**
+     * Returns the current number of clients per status.
+     *
+     * @return counts for every status, including those without clients
+     */
+    public Map<CardStatus, Long> snapshot() {
+        final Map<CardStatus, Long> snapshot = new EnumMap<>(CardStatus.class);
+        for (CardStatus status : STATUSES) {
+            snapshot.put(status, counts.get(status.ordinal()));
+        }
+        return snapshot;
+    }
+
+    public Instant getReconciledAt() {
+        return reconciledAt;
+    }
+
+    /**
+     * Recounts from the database when the counters have not been loaded yet or the reconcile interval has passed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${client.stats.refresh-ms:5000}")
+    public void refresh() {
+        if (reconciledAt.plus(reconcileInterval).isBefore(Instant.now())) {
+            reconcile();
+        }
+    }
+
+    private void reconcile() {
+        final long[] fresh = new long[STATUSES.length];
+        final List<Object[]> rows = clientRepository.countPerCardStatus();
+        for (Object[] row : rows) {
+            if (row[0] != null) {
+                fresh[((CardStatus) row[0]).ordinal()] = (Long) row[1];
+            }
+        }
+        for (int i = 0; i < fresh.length; i++) {
+            counts.set(i, fresh[i]);
+        }
+        reconciledAt = Instant.now();
+        logger.debug("Reconciled client status counters: {}", snapshot());
+    }
+
+    private void add(final CardStatus status, final long delta) {
+        if (status != null) {
+            counts.addAndGet(status.ordinal(), delta);
+        }
+    }
+
+    private static void afterCommit(final Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,75 @@
+package com.task.client.card.app.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Creates the monthly partitions of the card status history on PostgreSQL ahead of time, at startup and then
+ * daily, so that new rows never land in the default partition. Does nothing on other databases, where the
+ * history table is not partitioned. Old partitions are kept; retention is a matter of detaching or dropping them.
+ */
+@Component
+public class ClientStatusHistoryPartitions {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientStatusHistoryPartitions.class);
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final String CREATE_PARTITION_SQL =
+            "CREATE TABLE IF NOT EXISTS client_status_history_%s PARTITION OF client_status_history "
+                    + "FOR VALUES FROM ('%s') TO ('%s')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+
+    /**
+     * Creates the maintainer.
+     *
+     * @param jdbcTemplate template used for the partition DDL
+     * @param monthsAhead  number of months after the current one that must already have a partition
+     */
+    public ClientStatusHistoryPartitions(final JdbcTemplate jdbcTemplate,
+                                         final @Value("${client.history.partition-months-ahead:2}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+    }
+
+    /**
+     * Creates any missing partition from the current month up to {@code client.history.partition-months-ahead}
+     * months ahead.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${client.history.partition-cron:0 0 3 * * *}")
+    public void createPartitions() {
+        if (!isPostgres()) {
+            return;
+        }
+        final YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            final YearMonth month = current.plusMonths(i);
+            final LocalDate from = month.atDay(1);
+            try {
+                jdbcTemplate.execute(String.format(CREATE_PARTITION_SQL, month.format(SUFFIX), from, from.plusMonths(1)));
+            } catch (DataAccessException e) {
+                logger.warn("Could not create status history partition for {}: {}", month, e.getMessage());
+            }
+        }
+    }
+
+    private boolean isPostgres() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())));
+    }
+}
@@ -0,0 +1,208 @@
+package com.task.client.card.app.service;
+
+import com.task.client.card.app.config.CacheConfig;
+import com.task.client.card.app.dto.ClientDTO;
+import com.task.client.card.app.dto.ClientView;
+import com.task.client.card.app.entity.ClientStatusHistory;
+import com.task.client.card.app.enums.CardStatus;
+import com.task.client.card.app.exception.InvalidStatusTransitionException;
+import com.task.client.card.app.repository.ClientStatusHistoryRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Service creating or updating clients by OIB with a single native statement.
+ * PostgreSQL uses {@code INSERT ... ON CONFLICT (oib) DO UPDATE ... RETURNING}; H2 uses {@code MERGE} read
+ * through {@code FINAL TABLE}. Every update increments the client's version, so a stored version of 0 means the
+ * statement inserted the client.
+ * The stored client is read and locked with {@code SELECT ... FOR UPDATE}, bypassing the client cache, whose entry
+ * may be stale, to check the change against the card lifecycle; the statement only updates a client whose status is
+ * still the one checked, and status changes are appended to the status history in the same transaction.
+ * New clients take their id from {@code client_seq} directly. Hibernate's pooled optimizer uses each sequence
+ * value as the upper end of a block of ids, so the two never hand out the same id.
+ */
+@Service
+public class ClientUpsertService {
+
+    private static final String LOCK_SQL =
+            "SELECT id, first_name, last_name, oib, card_status, version FROM client WHERE oib = ? FOR UPDATE";
+
+    private static final String PG_UPSERT_SQL =
+            "INSERT INTO client (id, first_name, last_name, oib, card_status, card_status_changed_at, version) "
+                    + "VALUES (nextval('client_seq'), ?, ?, ?, ?, CURRENT_TIMESTAMP, 0) "
+                    + "ON CONFLICT (oib) DO UPDATE SET first_name = EXCLUDED.first_name, last_name = EXCLUDED.last_name, "
+                    + "card_status = EXCLUDED.card_status, card_status_changed_at = CASE WHEN client.card_status "
+                    + "IS DISTINCT FROM EXCLUDED.card_status THEN CURRENT_TIMESTAMP ELSE client.card_status_changed_at END, "
+                    + "version = client.version + 1 "
+                    + "WHERE client.card_status IS NOT DISTINCT FROM ? "
+                    + "RETURNING id, version";
+
+    private static final String H2_UPSERT_SQL =
+            "SELECT id, version FROM FINAL TABLE (MERGE INTO client c "
+                    + "USING (VALUES (CAST(? AS VARCHAR(50)), CAST(? AS VARCHAR(50)), "
+                    + "CAST(? AS VARCHAR(11)), CAST(? AS VARCHAR(20)))) "
+                    + "s (first_name, last_name, oib, card_status) ON c.oib = s.oib "
+                    + "WHEN MATCHED AND c.card_status IS NOT DISTINCT FROM CAST(? AS VARCHAR(20)) "
+                    + "THEN UPDATE SET first_name = s.first_name, last_name = s.last_name, "
+                    + "card_status = s.card_status, card_status_changed_at = CASE WHEN c.card_status "
+                    + "IS DISTINCT FROM s.card_status THEN CURRENT_TIMESTAMP ELSE c.card_status_changed_at END, "
+                    + "version = c.version + 1 "
+                    + "WHEN NOT MATCHED THEN INSERT "
+                    + "(id, first_name, last_name, oib, card_status, card_status_changed_at, version) "
+                    + "VALUES (NEXT VALUE FOR client_seq, s.first_name, s.last_name, s.oib, s.card_status, "
+                    + "CURRENT_TIMESTAMP, 0))";
+
+    private static final String UPDATE_SET =
+            "UPDATE client SET first_name = ?, last_name = ?, card_status = ?, "
+                    + "card_status_changed_at = CASE WHEN card_status IS DISTINCT FROM ? "
+                    + "THEN CURRENT_TIMESTAMP ELSE card_status_changed_at END, "
+                    + "version = version + 1 WHERE oib = ? AND version = ?";
+
+    private static final String PG_UPDATE_SQL = UPDATE_SET + " RETURNING id, version";
+
+    private static final String H2_UPDATE_SQL = "SELECT id, version FROM FINAL TABLE (" + UPDATE_SET + ")";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClientStatusHistoryRepository historyRepository;
+    private final Cache clientCache;
+    private final ClientStatusCounters statusCounters;
+    private volatile Boolean postgres;
+
+    /**
+     * Creates the service.
+     *
+     * @param jdbcTemplate      template used for the locking read and the native statements
+     * @param historyRepository repository receiving the status history rows
+     * @param cacheManager      cache manager holding the client cache, evicted for every written OIB
+     * @param statusCounters    per-status counters adjusted for created clients and status changes
+     */
+    public ClientUpsertService(final JdbcTemplate jdbcTemplate, final ClientStatusHistoryRepository historyRepository,
+                               final CacheManager cacheManager, final ClientStatusCounters statusCounters) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.historyRepository = historyRepository;
+        this.clientCache = cacheManager.getCache(CacheConfig.CLIENTS_CACHE);
+        this.statusCounters = statusCounters;
+    }
+
+    /**
+     * Creates the client, or replaces the stored client with the same OIB, in one statement.
+     *
+     * @param clientDTO the client data
+     * @return the stored client; its version is 0 if it was created
+     * @throws InvalidStatusTransitionException  if the card lifecycle does not allow the status change
+     * @throws OptimisticLockingFailureException if the client's status was changed concurrently
+     */
+    @Transactional
+    public ClientView upsert(final ClientDTO clientDTO) {
+        final ClientView stored = lockStored(clientDTO.getOib());
+        final CardStatus from = stored != null ? stored.getCardStatus() : null;
+        checkTransition(clientDTO, stored);
+        final List<ClientView> written = jdbcTemplate.query(isPostgres() ? PG_UPSERT_SQL : H2_UPSERT_SQL,
+                (rs, rowNum) -> view(clientDTO, rs.getLong("id"), rs.getLong("version")),
+                clientDTO.getFirstName(), clientDTO.getLastName(), clientDTO.getOib(), clientDTO.getCardStatus().name(),
+                from != null ? from.name() : null);
+        if (written.isEmpty()) {
+            throw new OptimisticLockingFailureException("Card status of client with OIB " + clientDTO.getOib()
+                    + " was changed concurrently");
+        }
+        return afterWrite(written.get(0), from);
+    }
+
+    /**
+     * Replaces the stored client with the same OIB only if its version still equals {@code expectedVersion}.
+     *
+     * @param clientDTO       the client data
+     * @param expectedVersion the version the caller last read
+     * @return the updated client, or {@code null} if no client has this OIB
+     * @throws OptimisticLockingFailureException if the client was changed since {@code expectedVersion}
+     * @throws InvalidStatusTransitionException  if the card lifecycle does not allow the status change
+     */
+    @Transactional
+    public ClientView update(final ClientDTO clientDTO, final long expectedVersion) {
+        final ClientView stored = lockStored(clientDTO.getOib());
+        if (stored == null) {
+            return null;
+        }
+        if (stored.getVersion() != expectedVersion) {
+            throw versionConflict(clientDTO, expectedVersion);
+        }
+        checkTransition(clientDTO, stored);
+        final List<ClientView> written = jdbcTemplate.query(isPostgres() ? PG_UPDATE_SQL : H2_UPDATE_SQL,
+                (rs, rowNum) -> view(clientDTO, rs.getLong("id"), rs.getLong("version")),
+                clientDTO.getFirstName(), clientDTO.getLastName(), clientDTO.getCardStatus().name(),
+                clientDTO.getCardStatus().name(), clientDTO.getOib(), expectedVersion);
+        if (written.isEmpty()) {
+            throw versionConflict(clientDTO, expectedVersion);
+        }
+        return afterWrite(written.get(0), stored.getCardStatus());
+    }
+
+    /**
+     * Reads the stored client from the database and locks its row until the transaction ends.
+     *
+     * @return the stored client, or {@code null} if no client has this OIB
+     */
+    private ClientView lockStored(final String oib) {
+        final List<ClientView> stored = jdbcTemplate.query(LOCK_SQL, (rs, rowNum) -> {
+            final String status = rs.getString("card_status");
+            return new ClientView(rs.getLong("id"), rs.getString("first_name"), rs.getString("last_name"),
+                    rs.getString("oib"), status != null ? CardStatus.valueOf(status) : null, rs.getLong("version"));
+        }, oib);
+        return stored.isEmpty() ? null : stored.get(0);
+    }
+
+    /**
+     * Refuses a status change of a stored client that the card lifecycle does not allow.
+     */
+    private static void checkTransition(final ClientDTO clientDTO, final ClientView stored) {
+        final CardStatus from = stored != null ? stored.getCardStatus() : null;
+        final CardStatus to = clientDTO.getCardStatus();
+        if (from != null && from != to && !from.canTransitionTo(to)) {
+            throw new InvalidStatusTransitionException(clientDTO.getOib(), from, to);
+        }
+    }
+
+    private static OptimisticLockingFailureException versionConflict(final ClientDTO clientDTO, final long expectedVersion) {
+        return new OptimisticLockingFailureException("Client with OIB " + clientDTO.getOib()
+                + " was modified since version " + expectedVersion);
+    }
+
+    /**
+     * Evicts the written client, records its status change in the history and adjusts the status counters.
+     */
+    private ClientView afterWrite(final ClientView client, final CardStatus from) {
+        clientCache.evict(client.getOib());
+        final boolean created = client.getVersion() == 0;
+        if (created || from != client.getCardStatus()) {
+            historyRepository.save(ClientStatusHistory.of(client.getOib(), created ? null : from, client.getCardStatus(),
+                    Instant.now()));
+        }
+        if (created) {
+            statusCounters.created(client.getCardStatus());
+        } else {
+            statusCounters.changed(from, client.getCardStatus());
+        }
+        return client;
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+
+    private static ClientView view(final ClientDTO clientDTO, final long id, final long version) {
+        return new ClientView(id, clientDTO.getFirstName(), clientDTO.getLastName(), clientDTO.getOib(),
+                clientDTO.getCardStatus(), version);
+    }
+}
@@ -0,0 +1,185 @@
+package com.task.client.card.app.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.task.client.card.app.dto.CardSubmissionResult;
+import com.task.client.card.app.dto.ClientView;
+import com.task.client.card.app.dto.SubmissionJob;
+import com.task.client.card.app.enums.JobState;
+import com.task.client.card.app.enums.SubmissionOutcome;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service running card submissions as background jobs that can be polled for their result.
+ * Jobs are queued and run with at most {@code card.api.jobs.workers} submissions in flight, without holding a
+ * thread while the card API answers. A burst of submissions or a slow card API only fills the job queue, bounded by
+ * {@code card.api.jobs.queue-capacity}; when it is full, new jobs are refused. A job is completed only with the
+ * outcome of its submission; one still running after {@code card.api.jobs.timeout} stays {@link JobState#RUNNING}
+ * but frees its slot for the next job. Jobs are kept in memory for {@code card.api.jobs.retention} after their last
+ * update. Like synchronous submissions, completed jobs publish their outcome to Kafka. The number of queued and
+ * running jobs holding a slot is exposed as {@code card.api.jobs.pending}.
+ */
+@Service
+public class SubmissionJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionJobService.class);
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final CardSubmissionService cardSubmissionService;
+    private final Duration jobTimeout;
+    private final int maxPending;
+    private final Cache<String, SubmissionJob> jobs;
+    private final Sinks.Many<QueuedJob> queue = Sinks.many().unicast().onBackpressureBuffer();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final CompletableFuture<Void> drained;
+
+    /**
+     * Creates the service.
+     *
+     * @param cardSubmissionService service performing the submissions
+     * @param meterRegistry         registry receiving the job queue gauge
+     * @param workers               maximum number of submissions in flight
+     * @param queueCapacity         maximum number of jobs waiting for a slot
+     * @param jobTimeout            how long a submission may hold its slot, including retries
+     * @param retention             how long a job is kept after its last update
+     * @param maxJobs               maximum number of jobs kept, oldest evicted first
+     */
+    public SubmissionJobService(final CardSubmissionService cardSubmissionService,
+                                final MeterRegistry meterRegistry,
+                                final @Value("${card.api.jobs.workers:16}") int workers,
+                                final @Value("${card.api.jobs.queue-capacity:10000}") int queueCapacity,
+                                final @Value("${card.api.jobs.timeout:60s}") Duration jobTimeout,
+                                final @Value("${card.api.jobs.retention:1h}") Duration retention,
+                                final @Value("${card.api.jobs.max-retained:100000}") long maxJobs) {
+        this.cardSubmissionService = cardSubmissionService;
+        this.jobTimeout = jobTimeout;
+        this.maxPending = workers + queueCapacity;
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(retention)
+                .maximumSize(maxJobs)
+                .build();
+        this.drained = queue.asFlux()
+                .flatMap(queued -> run(queued.job(), queued.client()), workers)
+                .then()
+                .toFuture();
+        Gauge.builder("card.api.jobs.pending", pending, AtomicInteger::get)
+                .description("Submission jobs queued or holding a slot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues the submission of a client and returns immediately.
+     *
+     * @param client the client to send
+     * @return the queued job
+     * @throws TaskRejectedException if the job queue is full or the service is shutting down
+     */
+    public SubmissionJob enqueue(final ClientView client) {
+        final SubmissionJob job = new SubmissionJob(UUID.randomUUID().toString(), client.getOib(), JobState.QUEUED,
+                Instant.now(), null, null);
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            logger.warn("Submission queue is full, refusing job for OIB {}", client.getOib());
+            throw new TaskRejectedException("Submission queue is full");
+        }
+        jobs.put(job.getId(), job);
+        final Sinks.EmitResult emitted;
+        synchronized (queue) {
+            emitted = queue.tryEmitNext(new QueuedJob(job, client));
+        }
+        if (emitted.isFailure()) {
+            pending.decrementAndGet();
+            jobs.invalidate(job.getId());
+            throw new TaskRejectedException("Submission jobs are shut down");
+        }
+        return job;
+    }
+
+    /**
+     * Returns the current state of a job.
+     *
+     * @param id the job id
+     * @return the job, or {@code null} if it is unknown or has expired
+     */
+    public SubmissionJob find(final String id) {
+        return jobs.getIfPresent(id);
+    }
+
+    /**
+     * Stops accepting jobs and waits for the queued ones to finish.
+     */
+    @PreDestroy
+    public void shutdown() {
+        synchronized (queue) {
+            queue.tryEmitComplete();
+        }
+        try {
+            drained.get(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("Submission jobs did not finish within {} seconds: {}", SHUTDOWN_TIMEOUT_SECONDS, e.toString());
+        }
+    }
+
+    /**
+     * Runs one job: marks it running, completes it with the outcome of its submission and releases its slot when
+     * the submission ends or {@code card.api.jobs.timeout} has passed, whichever comes first.
+     */
+    private Mono<Void> run(final SubmissionJob queued, final ClientView client) {
+        return Mono.defer(() -> {
+            jobs.put(queued.getId(), update(queued, JobState.RUNNING, null));
+            final Mono<CardSubmissionResult> submission = cardSubmissionService.submit(client)
+                    .onErrorResume(e -> {
+                        logger.error("Submission job {} for OIB {} failed", queued.getId(), client.getOib(), e);
+                        return Mono.just(new CardSubmissionResult(client.getOib(), SubmissionOutcome.FAILED,
+                                "Error sending to API."));
+                    })
+                    .doOnNext(result -> jobs.put(queued.getId(), update(queued, JobState.DONE, result)))
+                    .cache();
+            submission.subscribe();
+            return submission.timeout(jobTimeout)
+                    .onErrorResume(TimeoutException.class, e -> {
+                        logger.warn("Submission job {} for OIB {} still running after {}, releasing its slot",
+                                queued.getId(), client.getOib(), jobTimeout);
+                        return Mono.empty();
+                    })
+                    .doFinally(signal -> pending.decrementAndGet())
+                    .then();
+        });
+    }
+
+    /**
+     * Returns a copy of the job in the given state; stored jobs are never modified, so pollers always see a
+     * consistent snapshot.
+     */
+    private static SubmissionJob update(final SubmissionJob job, final JobState state, final CardSubmissionResult result) {
+        return new SubmissionJob(job.getId(), job.getOib(), state, job.getSubmittedAt(),
+                state == JobState.DONE ? Instant.now() : null, result);
+    }
+
+    /**
+     * A job waiting for a slot, with the client it submits.
+     */
+    private record QueuedJob(SubmissionJob job, ClientView client) {
+    }
+}
@@ -0,0 +1,156 @@
+package com.task.client.card.app.validation;
+
+/**
+ * Croatian OIB packed into a {@code long}.
+ * An OIB has 11 decimal digits, so it fits in a {@code long} without loss (leading zeros are restored by
+ * {@link #toString()}). The static methods validate and pack OIBs directly from characters without
+ * allocating, for bulk paths where keeping OIBs as strings is too costly; the record itself is a
+ * compact, comparable key for maps and sets.
+ *
+ * @param value the packed OIB, always a valid one
+ */
+public record Oib(long value) implements Comparable<Oib> {
+
+    /**
+     * Number of digits of an OIB.
+     */
+    public static final int LENGTH = 11;
+
+    /**
+     * Returned by {@link #pack(CharSequence)} for input that is not a valid OIB.
+     */
+    public static final long INVALID = -1L;
+
+    private static final long MAX = 99_999_999_999L;
+    private static final long HIGHEST_DIGIT = 10_000_000_000L;
+
+    /**
+     * Next intermediate remainder of the check digit calculation, indexed by {@code remainder * 10 + digit}.
+     */
+    private static final byte[] NEXT = new byte[11 * 10];
+
+    static {
+        for (int remainder = 1; remainder <= 10; remainder++) {
+            for (int digit = 0; digit <= 9; digit++) {
+                final int sum = (remainder + digit) % 10;
+                NEXT[remainder * 10 + digit] = (byte) ((sum == 0 ? 10 : sum) * 2 % 11);
+            }
+        }
+    }
+
+    /**
+     * Creates an OIB from its packed value.
+     *
+     * @param value the packed OIB
+     * @throws IllegalArgumentException if the value is not a valid OIB
+     */
+    public Oib {
+        if (!isValid(value)) {
+            throw new IllegalArgumentException("Invalid OIB: " + value);
+        }
+    }
+
+    /**
+     * Parses an OIB from its 11-digit text form.
+     *
+     * @param oib the OIB text
+     * @return the OIB
+     * @throws IllegalArgumentException if the text is not a valid OIB
+     */
+    public static Oib of(final CharSequence oib) {
+        final long value = pack(oib);
+        if (value == INVALID) {
+            throw new IllegalArgumentException("Invalid OIB: " + oib);
+        }
+        return new Oib(value);
+    }
+
+    /**
+     * Checks that the text is exactly 11 ASCII digits with a correct ISO 7064 (MOD 11, 10) control digit.
+     *
+     * @param oib the OIB text, may be {@code null}
+     * @return {@code true} if the OIB is valid
+     */
+    public static boolean isValid(final CharSequence oib) {
+        return pack(oib) != INVALID;
+    }
+
+    /**
+     * Checks that the packed value is a valid OIB.
+     *
+     * @param value the packed OIB
+     * @return {@code true} if the value has at most 11 digits and a correct control digit
+     */
+    public static boolean isValid(final long value) {
+        if (value < 0 || value > MAX) {
+            return false;
+        }
+        int remainder = 10;
+        long divisor = HIGHEST_DIGIT;
+        for (int i = 0; i < LENGTH - 1; i++) {
+            remainder = next(remainder, (int) (value / divisor % 10));
+            divisor /= 10;
+        }
+        return value % 10 == controlDigit(remainder);
+    }
+
+    /**
+     * Validates an OIB and packs it into a {@code long} in a single pass over its characters.
+     * Any character other than {@code '0'}-{@code '9'} makes the OIB invalid.
+     *
+     * @param oib the OIB text, may be {@code null}
+     * @return the packed OIB, or {@link #INVALID} if the text is not a valid OIB
+     */
+    public static long pack(final CharSequence oib) {
+        if (oib == null || oib.length() != LENGTH) {
+            return INVALID;
+        }
+        long value = 0;
+        int remainder = 10;
+        for (int i = 0; i < LENGTH; i++) {
+            final int digit = oib.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID;
+            }
+            value = value * 10 + digit;
+            if (i < LENGTH - 1) {
+                remainder = next(remainder, digit);
+            }
+        }
+        return value % 10 == controlDigit(remainder) ? value : INVALID;
+    }
+
+    /**
+     * Formats a packed OIB as 11 digits, restoring leading zeros.
+     *
+     * @param value the packed OIB
+     * @return the OIB text
+     */
+    public static String format(final long value) {
+        final char[] digits = new char[LENGTH];
+        long remaining = value;
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            digits[i] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        return new String(digits);
+    }
+
+    @Override
+    public int compareTo(final Oib other) {
+        return Long.compare(value, other.value);
+    }
+
+    @Override
+    public String toString() {
+        return format(value);
+    }
+
+    private static int next(final int remainder, final int digit) {
+        return NEXT[remainder * 10 + digit];
+    }
+
+    private static int controlDigit(final int remainder) {
+        return (11 - remainder) % 10;
+    }
+}
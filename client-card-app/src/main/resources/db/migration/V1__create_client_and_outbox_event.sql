@@ -0,0 +1,29 @@
+-- Schema for the client and outbox_event entities. Written in SQL accepted by both PostgreSQL and H2.
+
+create sequence client_seq start with 1 increment by 100;
+
+create table client (
+    id          bigint      not null,
+    first_name  varchar(50) not null,
+    last_name   varchar(50) not null,
+    oib         varchar(11) not null,
+    card_status varchar(20),
+    constraint pk_client primary key (id),
+    constraint uk_client_oib unique (oib)
+);
+
+create index idx_client_card_status on client (card_status, id);
+
+create sequence outbox_event_seq start with 1 increment by 100;
+
+create table outbox_event (
+    id           bigint                      not null,
+    topic        varchar(100)                not null,
+    message_key  varchar(100),
+    payload      varchar(2000)               not null,
+    created_at   timestamp(6) with time zone not null,
+    delivered_at timestamp(6) with time zone,
+    constraint pk_outbox_event primary key (id)
+);
+
+create index idx_outbox_event_delivered_at on outbox_event (delivered_at, id);
@@ -0,0 +1,3 @@
+-- Optimistic locking version of client rows, incremented by every update.
+
+alter table client add column version bigint default 0 not null;
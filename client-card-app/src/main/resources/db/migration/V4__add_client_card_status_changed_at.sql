@@ -0,0 +1,7 @@
+-- Time of the last card status change, used to find cards due to expire. Existing clients get the time of the
+-- migration: the column is added with a constant default, which PostgreSQL stores without rewriting the table,
+-- and the default is dropped again so that new rows take the value written by the application.
+
+alter table client add column card_status_changed_at timestamp(6) with time zone default current_timestamp;
+
+alter table client alter column card_status_changed_at drop default;
@@ -0,0 +1,77 @@
+package com.task.client.card.app;
+
+import com.task.client.card.app.api.AdaptiveConcurrencyLimit;
+import com.task.client.card.app.dto.ErrorResponse;
+import com.task.client.card.app.exception.ConcurrencyLimitExceededException;
+import com.task.client.card.app.exception.ExternalApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveConcurrencyLimitTest {
+
+    private AdaptiveConcurrencyLimit limit(final int initialLimit, final Duration queueTimeout) {
+        return new AdaptiveConcurrencyLimit(new SimpleMeterRegistry(), initialLimit, 2, 10, 0.5,
+                Duration.ofSeconds(1), queueTimeout);
+    }
+
+    @Test
+    void queuesCallsOverTheLimitTest() {
+        AdaptiveConcurrencyLimit limit = limit(2, Duration.ofSeconds(5));
+        Sinks.One<String> first = Sinks.one();
+
+        CompletableFuture<String> running = limit.limit(first.asMono()).toFuture();
+        limit.limit(Sinks.<String>one().asMono()).subscribe();
+        CompletableFuture<String> queued = limit.limit(Mono.just("queued")).toFuture();
+
+        assertEquals(2, limit.getInFlight());
+        assertFalse(queued.isDone());
+
+        first.tryEmitValue("first");
+
+        assertEquals("first", running.join());
+        assertEquals("queued", queued.join());
+    }
+
+    @Test
+    void queuedCallTimesOutTest() {
+        AdaptiveConcurrencyLimit limit = limit(2, Duration.ofMillis(50));
+        limit.limit(Sinks.<String>one().asMono()).subscribe();
+        limit.limit(Sinks.<String>one().asMono()).subscribe();
+
+        assertThrows(ConcurrencyLimitExceededException.class, () -> limit.limit(Mono.just("late")).block());
+        assertEquals(2, limit.getInFlight());
+    }
+
+    @Test
+    void decreasesOnThrottlingAndRecoversTest() {
+        AdaptiveConcurrencyLimit limit = limit(8, Duration.ofSeconds(5));
+        ExternalApiException throttled = new ExternalApiException("Too many requests", new ErrorResponse(),
+                HttpStatus.TOO_MANY_REQUESTS);
+
+        assertThrows(ExternalApiException.class, () -> limit.limit(Mono.error(throttled)).block());
+        assertEquals(4, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+
+        Sinks.One<String> busy = Sinks.one();
+        limit.limit(busy.asMono()).subscribe();
+        limit.limit(busy.asMono()).subscribe();
+        for (int i = 0; i < 20; i++) {
+            limit.limit(Mono.just("ok")).block();
+        }
+        busy.tryEmitValue("done");
+
+        assertTrue(limit.getLimit() > 4);
+        assertEquals(0, limit.getInFlight());
+    }
+}
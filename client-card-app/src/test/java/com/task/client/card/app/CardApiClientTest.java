@@ -0,0 +1,216 @@
+package com.task.client.card.app;
+
+import com.sun.net.httpserver.HttpServer;
+import com.task.client.card.app.api.AdaptiveConcurrencyLimit;
+import com.task.client.card.app.api.CardApiClient;
+import com.task.client.card.app.api.CardApiFailurePredicate;
+import com.task.client.card.app.api.CardApiResilience;
+import com.task.client.card.app.dto.NewCardRequest;
+import com.task.client.card.app.dto.Response;
+import com.task.client.card.app.enums.CardStatus;
+import com.task.client.card.app.exception.ExternalApiException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CardApiClientTest {
+
+    private HttpServer server;
+
+    private int status;
+
+    private String body;
+
+    private int failFirst;
+
+    private long delayMillis;
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AdaptiveConcurrencyLimit concurrencyLimit;
+
+    private CardApiClient cardApiClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/v1/card-request", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            sleep(delayMillis);
+            boolean fail = requests.incrementAndGet() <= failFirst;
+            byte[] bytes = (fail ? "{\"code\":\"503\"}" : body).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(fail ? 503 : status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+        meterRegistry = new SimpleMeterRegistry();
+        concurrencyLimit = new AdaptiveConcurrencyLimit(meterRegistry, 20, 4, 100, 0.9, Duration.ofSeconds(1),
+                Duration.ofSeconds(5));
+        cardApiClient = cardApiClient(WebClient.builder().build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void requestNewCardTest() {
+        status = 201;
+        body = "{\"message\":\"New card request successfully created.\"}";
+
+        ResponseEntity<Response> response = cardApiClient.requestNewCard(newCardRequest()).block();
+
+        assertEquals(201, response.getStatusCode().value());
+        assertEquals("New card request successfully created.", response.getBody().getMessage());
+        assertEquals(1, meterRegistry.get(CardApiClient.REQUESTS_METRIC)
+                .tags("outcome", "SUCCESS", "code", "201").timer().count());
+    }
+
+    @Test
+    void requestNewCardErrorResponseTest() {
+        status = 400;
+        body = "{\"code\":\"400\",\"id\":\"bad-request-001\",\"description\":\"Invalid request format or data.\"}";
+
+        ExternalApiException exception = assertThrows(ExternalApiException.class,
+                () -> cardApiClient.requestNewCard(newCardRequest()).block());
+
+        assertEquals("bad-request-001", exception.getErrorResponse().getId());
+        assertEquals("API request failed: Invalid request format or data.", exception.getMessage());
+        assertEquals(400, exception.getStatusCode().value());
+        assertEquals(1, meterRegistry.get(CardApiClient.REQUESTS_METRIC)
+                .tags("outcome", "REJECTED", "code", "400").timer().count());
+    }
+
+    @Test
+    void requestNewCardUnparsableErrorTest() {
+        status = 503;
+        body = "<html>unavailable</html>";
+
+        ExternalApiException exception = assertThrows(ExternalApiException.class,
+                () -> cardApiClient.requestNewCard(newCardRequest()).block());
+
+        assertEquals("503", exception.getErrorResponse().getCode());
+        assertEquals("Service Unavailable", exception.getErrorResponse().getDescription());
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void requestNewCardRetriesServerErrorTest() {
+        failFirst = 2;
+        status = 201;
+        body = "{\"message\":\"New card request successfully created.\"}";
+
+        ResponseEntity<Response> response = cardApiClient.requestNewCard(newCardRequest()).block();
+
+        assertEquals(201, response.getStatusCode().value());
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void requestNewCardDoesNotRetryRejectionTest() {
+        status = 400;
+        body = "{\"code\":\"400\",\"id\":\"bad-request-001\",\"description\":\"Invalid request format or data.\"}";
+
+        assertThrows(ExternalApiException.class, () -> cardApiClient.requestNewCard(newCardRequest()).block());
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void requestNewCardFailsFastWhenCircuitOpenTest() {
+        status = 500;
+        body = "{\"code\":\"500\",\"id\":\"internal-error-004\",\"description\":\"An unexpected error occurred.\"}";
+        assertThrows(ExternalApiException.class, () -> cardApiClient.requestNewCard(newCardRequest()).block());
+        assertEquals(3, requests.get());
+
+        assertThrows(CallNotPermittedException.class, () -> cardApiClient.requestNewCard(newCardRequest()).block());
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void requestNewCardResponseTimeoutLowersConcurrencyLimitTest() throws InterruptedException {
+        delayMillis = 500;
+        status = 201;
+        body = "{\"message\":\"New card request successfully created.\"}";
+        CardApiClient timingOutClient = cardApiClient(WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create().responseTimeout(Duration.ofMillis(50))))
+                .build());
+
+        assertThrows(WebClientRequestException.class, () -> timingOutClient.requestNewCard(newCardRequest()).block());
+
+        assertEquals(3, meterRegistry.get(CardApiClient.REQUESTS_METRIC)
+                .tags("outcome", "ERROR", "code", "NONE").timer().count());
+        awaitReleased();
+        assertEquals(14, concurrencyLimit.getLimit());
+    }
+
+    private CardApiClient cardApiClient(final WebClient webClient) {
+        return new CardApiClient(webClient,
+                "http://localhost:" + server.getAddress().getPort() + "/api/v1/card-request", meterRegistry,
+                new CardApiResilience(
+                        CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                                .slidingWindowSize(3)
+                                .minimumNumberOfCalls(3)
+                                .recordException(new CardApiFailurePredicate())
+                                .build()),
+                        BulkheadRegistry.ofDefaults(),
+                        RetryRegistry.of(RetryConfig.custom()
+                                .maxAttempts(3)
+                                .waitDuration(Duration.ofMillis(10))
+                                .retryOnException(new CardApiFailurePredicate())
+                                .build()),
+                        RateLimiterRegistry.ofDefaults(),
+                        concurrencyLimit));
+    }
+
+    private void awaitReleased() throws InterruptedException {
+        for (int i = 0; i < 100 && concurrencyLimit.getInFlight() > 0; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static NewCardRequest newCardRequest() {
+        NewCardRequest newCardRequest = new NewCardRequest();
+        newCardRequest.setFirstName("Ana");
+        newCardRequest.setLastName("Anić");
+        newCardRequest.setOib("12345678903");
+        newCardRequest.setStatus(CardStatus.PENDING);
+        return newCardRequest;
+    }
+}
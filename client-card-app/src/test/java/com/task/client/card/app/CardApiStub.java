@@ -0,0 +1,98 @@
+package com.task.client.card.app;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the card API described in {@code YAML.yaml}.
+ * Answers {@code POST /api/v1/card-request} with 201 after a configurable latency, or with one of the
+ * documented error responses (400 or 500) at a configurable rate.
+ */
+class CardApiStub implements AutoCloseable {
+
+    static final String PATH = "/api/v1/card-request";
+
+    private static final String CREATED = "{\"message\":\"New card request successfully created.\"}";
+    private static final String BAD_REQUEST =
+            "{\"code\":\"400\",\"id\":\"bad-request-001\",\"description\":\"Invalid request format or data.\"}";
+    private static final String INTERNAL_ERROR =
+            "{\"code\":\"500\",\"id\":\"internal-error-004\",\"description\":\"An unexpected error occurred.\"}";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double errorRate;
+    private final AtomicLong requests = new AtomicLong();
+
+    CardApiStub(final long latencyMs, final long jitterMs, final double errorRate) throws IOException {
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.errorRate = errorRate;
+        this.executor = Executors.newCachedThreadPool();
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.createContext(PATH, this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort() + PATH;
+    }
+
+    long requests() {
+        return requests.get();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        exchange.getRequestBody().readAllBytes();
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        sleep(latencyMs + (jitterMs > 0 ? random.nextLong(jitterMs + 1) : 0));
+
+        if (random.nextDouble() < errorRate) {
+            if (random.nextBoolean()) {
+                respond(exchange, 400, BAD_REQUEST);
+            } else {
+                respond(exchange, 500, INTERNAL_ERROR);
+            }
+        } else {
+            respond(exchange, 201, CREATED);
+        }
+    }
+
+    private static void respond(final HttpExchange exchange, final int status, final String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(final long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
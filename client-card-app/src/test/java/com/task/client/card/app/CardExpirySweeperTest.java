@@ -0,0 +1,59 @@
+package com.task.client.card.app;
+
+import com.task.client.card.app.enums.CardStatus;
+import com.task.client.card.app.service.CardExpirySweeper;
+import com.task.client.card.app.service.CardStatusUpdateService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CardExpirySweeperTest {
+
+    @Mock
+    private CardStatusUpdateService cardStatusUpdateService;
+
+    private CardExpirySweeper cardExpirySweeper;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        cardExpirySweeper = new CardExpirySweeper(cardStatusUpdateService, new SimpleMeterRegistry(),
+                Duration.ofDays(1096), 2, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cardExpirySweeper.shutdown();
+    }
+
+    @Test
+    void sweepCoversIdRangeInChunksTest() {
+        when(cardStatusUpdateService.findIdRange(CardStatus.ACTIVE)).thenReturn(new long[]{1, 25});
+        when(cardStatusUpdateService.expireCards(eq(0L), eq(10L), any())).thenReturn(3);
+        when(cardStatusUpdateService.expireCards(eq(10L), eq(20L), any())).thenThrow(new IllegalStateException("deadlock"));
+        when(cardStatusUpdateService.expireCards(eq(20L), eq(25L), any())).thenReturn(2);
+
+        assertEquals(5L, cardExpirySweeper.sweep().join());
+        verify(cardStatusUpdateService).expireCards(eq(10L), eq(20L), any());
+    }
+
+    @Test
+    void sweepWithoutActiveCardsTest() {
+        when(cardStatusUpdateService.findIdRange(CardStatus.ACTIVE)).thenReturn(null);
+
+        assertEquals(0L, cardExpirySweeper.sweep().join());
+        verify(cardStatusUpdateService, never()).expireCards(any(Long.class), any(Long.class), any());
+    }
+}
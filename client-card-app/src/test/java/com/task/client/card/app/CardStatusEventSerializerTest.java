@@ -0,0 +1,57 @@
+package com.task.client.card.app;
+
+import com.task.client.card.app.enums.CardStatus;
+import com.task.client.card.app.kafka.CardStatusEvent;
+import com.task.client.card.app.kafka.CardStatusEventDeserializer;
+import com.task.client.card.app.kafka.CardStatusEventSerializer;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CardStatusEventSerializerTest {
+
+    private final CardStatusEventSerializer serializer = new CardStatusEventSerializer();
+
+    private final CardStatusEventDeserializer deserializer = new CardStatusEventDeserializer();
+
+    @Test
+    void binaryRoundTripTest() {
+        CardStatusEvent event = new CardStatusEvent("00000000010", CardStatus.PENDING, CardStatus.ACTIVE, 201,
+                1_700_000_000_123L);
+
+        byte[] data = serializer.serialize("card-status-topic", event);
+
+        assertEquals(21, data.length);
+        assertEquals(event, deserializer.deserialize("card-status-topic", data));
+    }
+
+    @Test
+    void binaryRoundTripWithoutStatusTest() {
+        CardStatusEvent event = new CardStatusEvent("12345678903", null, CardStatus.EXPIRED, 0, 0L);
+
+        assertEquals(event, deserializer.deserialize("card-status-topic",
+                serializer.serialize("card-status-topic", event)));
+    }
+
+    @Test
+    void deserializeJsonTest() {
+        CardStatusEvent event = new CardStatusEvent("12345678903", CardStatus.ACCEPTED, CardStatus.ACCEPTED, 400,
+                1_700_000_000_123L);
+
+        try (JsonSerializer<CardStatusEvent> jsonSerializer = new JsonSerializer<CardStatusEvent>().noTypeInfo()) {
+            byte[] data = jsonSerializer.serialize("card-status-topic", event);
+
+            assertEquals(event, deserializer.deserialize("card-status-topic", data));
+        }
+    }
+
+    @Test
+    void serializeNonNumericOibTest() {
+        CardStatusEvent event = new CardStatusEvent("1234567890X", null, CardStatus.ACTIVE, 0, 0L);
+
+        assertThrows(SerializationException.class, () -> serializer.serialize("card-status-topic", event));
+    }
+}
@@ -0,0 +1,116 @@
+package com.task.client.card.app;
+
+import com.task.client.card.app.config.BatchConsumerConfig;
+import com.task.client.card.app.enums.CardStatus;
+import com.task.client.card.app.kafka.CardStatusEvent;
+import com.task.client.card.app.kafka.CardStatusListener;
+import com.task.client.card.app.service.CardStatusUpdateService;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CardStatusListenerTest {
+
+    @Mock
+    private CardStatusUpdateService cardStatusUpdateService;
+
+    @Mock
+    private Consumer<String, CardStatusEvent> consumer;
+
+    @Mock
+    private MessageListenerContainer container;
+
+    private CardStatusListener cardStatusListener;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        cardStatusListener = new CardStatusListener(cardStatusUpdateService);
+        when(consumer.assignment()).thenReturn(Set.of(new TopicPartition("card-status-topic", 0)));
+        when(container.isRunning()).thenReturn(true);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onStatusUpdatesKeepsReadableEventsInOrderTest() {
+        List<CardStatusEvent> events = Arrays.asList(
+                new CardStatusEvent("12345678903", CardStatus.ACCEPTED, CardStatus.PENDING, 0, 100L),
+                new CardStatusEvent("98765432106", CardStatus.PENDING, CardStatus.ACTIVE, 0, 100L),
+                null,
+                new CardStatusEvent("12345678903", CardStatus.PENDING, CardStatus.ACTIVE, 0, 300L),
+                new CardStatusEvent("12345678903", CardStatus.PENDING, CardStatus.REJECTED, 0, 200L),
+                new CardStatusEvent("69581124674", CardStatus.ACTIVE, null, 0, 100L));
+
+        cardStatusListener.onStatusUpdates(events);
+
+        ArgumentCaptor<List<CardStatusEvent>> applied = ArgumentCaptor.forClass(List.class);
+        verify(cardStatusUpdateService).applyStatusUpdates(applied.capture());
+
+        assertEquals(List.of(events.get(0), events.get(1), events.get(3), events.get(4)), applied.getValue());
+    }
+
+    @Test
+    void failedBatchIsRedeliveredUntilItIsAppliedTest() {
+        List<CardStatusEvent> events = List.of(
+                new CardStatusEvent("12345678903", CardStatus.ACCEPTED, CardStatus.PENDING, 0, 100L));
+        when(cardStatusUpdateService.applyStatusUpdates(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("database down"))
+                .thenThrow(new DataAccessResourceFailureException("database down"))
+                .thenReturn(1);
+
+        Exception failure = assertThrows(DataAccessResourceFailureException.class,
+                () -> cardStatusListener.onStatusUpdates(events));
+        errorHandler(5).handleBatch(failure, records(events), consumer, container,
+                () -> cardStatusListener.onStatusUpdates(events));
+
+        verify(cardStatusUpdateService, times(3)).applyStatusUpdates(events);
+    }
+
+    @Test
+    void failedBatchIsSkippedAfterMaxAttemptsTest() {
+        List<CardStatusEvent> events = List.of(
+                new CardStatusEvent("12345678903", CardStatus.ACCEPTED, CardStatus.PENDING, 0, 100L));
+        when(cardStatusUpdateService.applyStatusUpdates(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+
+        Exception failure = assertThrows(DataAccessResourceFailureException.class,
+                () -> cardStatusListener.onStatusUpdates(events));
+        errorHandler(3).handleBatch(failure, records(events), consumer, container,
+                () -> cardStatusListener.onStatusUpdates(events));
+
+        verify(cardStatusUpdateService, times(3)).applyStatusUpdates(events);
+    }
+
+    private static DefaultErrorHandler errorHandler(final int maxAttempts) {
+        return new BatchConsumerConfig().batchErrorHandler(Duration.ofMillis(10), maxAttempts);
+    }
+
+    private static ConsumerRecords<String, CardStatusEvent> records(final List<CardStatusEvent> events) {
+        TopicPartition partition = new TopicPartition("card-status-topic", 0);
+        return new ConsumerRecords<>(Map.of(partition, events.stream()
+                .map(event -> new ConsumerRecord<>(partition.topic(), partition.partition(), 0L, event.getOib(), event))
+                .toList()));
+    }
+}
@@ -0,0 +1,145 @@
+package com.task.client.card.app;
+
+import com.task.client.card.app.config.CacheConfig;
+import com.task.client.card.app.dto.CardStatusChange;
+import com.task.client.card.app.entity.Client;
+import com.task.client.card.app.enums.CardStatus;
+import com.task.client.card.app.kafka.CardStatusEvent;
+import com.task.client.card.app.kafka.KafkaService;
+import com.task.client.card.app.repository.ClientRepository;
+import com.task.client.card.app.repository.ClientStatusHistoryRepository;
+import com.task.client.card.app.repository.OutboxEventRepository;
+import com.task.client.card.app.service.CardStatusUpdateService;
+import com.task.client.card.app.service.ClientStatusCounters;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.WebClientAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Applies batches of status events against the Flyway schema on H2 in PostgreSQL mode.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:status;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration({WebClientAutoConfiguration.class, JacksonAutoConfiguration.class})
+@Import({CardStatusUpdateService.class, KafkaService.class, ClientStatusCounters.class, CacheConfig.class})
+public class CardStatusUpdateServiceTest {
+
+    @Autowired
+    private CardStatusUpdateService cardStatusUpdateService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ClientStatusHistoryRepository historyRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void appliesAllowedTransitionsAndRecordsHistoryTest() {
+        clientRepository.saveAllAndFlush(List.of(client("12345678903", CardStatus.ACCEPTED), client("98765432106", CardStatus.REJECTED),
+                client("69581124674", CardStatus.ACTIVE)));
+
+        int changed = cardStatusUpdateService.applyStatusUpdates(List.of(
+                event("12345678903", CardStatus.PENDING),
+                event("98765432106", CardStatus.ACTIVE),
+                event("69581124674", CardStatus.ACTIVE),
+                event("11111111119", CardStatus.PENDING)));
+
+        assertEquals(1, changed);
+        assertEquals(CardStatus.PENDING, clientRepository.findByOib("12345678903").getCardStatus());
+        assertEquals(CardStatus.REJECTED, clientRepository.findByOib("98765432106").getCardStatus());
+        List<CardStatusChange> history = historyRepository.findByOib("12345678903", PageRequest.ofSize(10));
+        assertEquals(1, history.size());
+        assertEquals(CardStatus.ACCEPTED, history.get(0).getFromStatus());
+        assertEquals(CardStatus.PENDING, history.get(0).getToStatus());
+        assertEquals(0, historyRepository.findByOib("98765432106", PageRequest.ofSize(10)).size());
+    }
+
+    @Test
+    void historyIsNewestFirstTest() {
+        clientRepository.saveAndFlush(client("12345678903", CardStatus.ACCEPTED));
+
+        cardStatusUpdateService.applyStatusUpdates(List.of(event("12345678903", CardStatus.PENDING)));
+        cardStatusUpdateService.applyStatusUpdates(List.of(event("12345678903", CardStatus.ACTIVE)));
+
+        List<CardStatusChange> history = historyRepository.findByOib("12345678903", PageRequest.ofSize(10));
+        assertEquals(List.of(CardStatus.ACTIVE, CardStatus.PENDING), history.stream().map(CardStatusChange::getToStatus).toList());
+    }
+
+    @Test
+    void appliesEventsOfOneClientInOrderTest() {
+        clientRepository.saveAndFlush(client("12345678903", CardStatus.ACCEPTED));
+        List<CardStatusEvent> events = List.of(
+                new CardStatusEvent("12345678903", CardStatus.ACCEPTED, CardStatus.PENDING, 0, 100L),
+                new CardStatusEvent("12345678903", CardStatus.PENDING, CardStatus.ACTIVE, 0, 200L));
+
+        assertEquals(2, cardStatusUpdateService.applyStatusUpdates(events));
+        assertEquals(0, cardStatusUpdateService.applyStatusUpdates(events));
+
+        assertEquals(CardStatus.ACTIVE, clientRepository.findByOib("12345678903").getCardStatus());
+        assertEquals(List.of(CardStatus.ACTIVE, CardStatus.PENDING),
+                historyRepository.findByOib("12345678903", PageRequest.ofSize(10)).stream()
+                        .map(CardStatusChange::getToStatus).toList());
+    }
+
+    @Test
+    void expireCardsTest() {
+        Instant cutoff = Instant.now().minus(Duration.ofDays(1096));
+        List<Client> clients = clientRepository.saveAllAndFlush(List.of(
+                client("12345678903", CardStatus.ACTIVE, cutoff.minusSeconds(60)),
+                client("98765432106", CardStatus.ACTIVE, cutoff.plusSeconds(60)),
+                client("69581124674", CardStatus.PENDING, cutoff.minusSeconds(60))));
+
+        assertEquals(List.of(clients.get(0).getId(), clients.get(1).getId()),
+                Arrays.stream(cardStatusUpdateService.findIdRange(CardStatus.ACTIVE)).boxed().toList());
+        assertEquals(1, cardStatusUpdateService.expireCards(0, clients.get(2).getId(), cutoff));
+        assertEquals(0, cardStatusUpdateService.expireCards(0, clients.get(2).getId(), cutoff));
+
+        assertEquals(CardStatus.EXPIRED, clientRepository.findByOib("12345678903").getCardStatus());
+        assertEquals(CardStatus.ACTIVE, clientRepository.findByOib("98765432106").getCardStatus());
+        assertEquals(CardStatus.PENDING, clientRepository.findByOib("69581124674").getCardStatus());
+        assertEquals(CardStatus.ACTIVE, historyRepository.findByOib("12345678903", PageRequest.ofSize(10)).get(0).getFromStatus());
+        assertEquals(1, outboxEventRepository.count());
+        assertNull(cardStatusUpdateService.findIdRange(CardStatus.REJECTED));
+    }
+
+    private static CardStatusEvent event(final String oib, final CardStatus newStatus) {
+        return new CardStatusEvent(oib, null, newStatus, 0, System.currentTimeMillis());
+    }
+
+    private static Client client(final String oib, final CardStatus cardStatus) {
+        return client(oib, cardStatus, Instant.now());
+    }
+
+    private static Client client(final String oib, final CardStatus cardStatus, final Instant changedAt) {
+        Client client = new Client();
+        client.setCardStatusChangedAt(changedAt);
+        client.setFirstName("Ana");
+        client.setLastName("Anić");
+        client.setOib(oib);
+        client.setCardStatus(cardStatus);
+        return client;
+    }
+}
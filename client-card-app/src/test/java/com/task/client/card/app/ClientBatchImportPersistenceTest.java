@@ -0,0 +1,82 @@
+package com.task.client.card.app;
+
+import com.task.client.card.app.config.CacheConfig;
+import com.task.client.card.app.dto.BatchResult;
+import com.task.client.card.app.repository.ClientRepository;
+import com.task.client.card.app.service.ClientBatchService;
+import com.task.client.card.app.service.ClientStatusCounters;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.WebClientAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Imports clients inside a request-bound entity manager, as open-in-view provides, and checks that the imported
+ * chunks do not stay in its persistence context.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:batch;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "client.batch.chunk-size=2"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration({WebClientAutoConfiguration.class, JacksonAutoConfiguration.class,
+        ValidationAutoConfiguration.class})
+@Import({ClientBatchService.class, ClientStatusCounters.class, CacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ClientBatchImportPersistenceTest {
+
+    @Autowired
+    private ClientBatchService clientBatchService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void importDoesNotKeepChunksInRequestPersistenceContextTest() throws Exception {
+        String body = """
+                {"firstName":"Ana","lastName":"Anić","oib":"12345678903","cardStatus":"ACCEPTED"}
+                {"firstName":"Ivo","lastName":"Ivić","oib":"98765432106","cardStatus":"PENDING"}
+                {"firstName":"Marko","lastName":"Marić","oib":"69581124674","cardStatus":"ACTIVE"}
+                {"firstName":"Iva","lastName":"Ivić","oib":"00000000001","cardStatus":"ACCEPTED"}
+                {"firstName":"Luka","lastName":"Lukić","oib":"11111111119","cardStatus":"REJECTED"}
+                """;
+        EntityManager requestEntityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(requestEntityManager));
+        try {
+            BatchResult result = clientBatchService.importClients(
+                    new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+            assertEquals(5, result.getAccepted());
+            assertEquals(0, requestEntityManager.unwrap(SessionImplementor.class)
+                    .getPersistenceContextInternal().getNumberOfManagedEntities());
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            requestEntityManager.close();
+        }
+        assertEquals(5L, clientRepository.count());
+    }
+}
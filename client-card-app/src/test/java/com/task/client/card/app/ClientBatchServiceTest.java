@@ -0,0 +1,161 @@
+package com.task.client.card.app;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.client.card.app.dto.BatchResult;
+import com.task.client.card.app.dto.DeleteClientsResult;
+import com.task.client.card.app.entity.Client;
+import com.task.client.card.app.enums.CardStatus;
+import com.task.client.card.app.repository.ClientRepository;
+import com.task.client.card.app.repository.ClientStatusHistoryRepository;
+import com.task.client.card.app.service.ClientBatchService;
+import com.task.client.card.app.service.ClientStatusCounters;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ClientBatchServiceTest {
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private ClientStatusHistoryRepository historyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ClientStatusCounters statusCounters;
+
+    private ClientBatchService clientBatchService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        statusCounters = new ClientStatusCounters(clientRepository, Duration.ofMinutes(5));
+        clientBatchService = new ClientBatchService(clientRepository,
+                historyRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper(),
+                transactionManager,
+                new ConcurrentMapCacheManager("clients"),
+                statusCounters,
+                2);
+        ReflectionTestUtils.setField(clientBatchService, "entityManager", entityManager);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importNdjsonInChunksTest() throws IOException {
+        String body = """
+                {"firstName":"Ana","lastName":"Anić","oib":"12345678903","cardStatus":"ACCEPTED"}
+                {"firstName":"Ivo","lastName":"Ivić","oib":"98765432106","cardStatus":"PENDING"}
+                {"firstName":"Marko","lastName":"Marić","oib":"69581124674","cardStatus":"ACTIVE"}
+                """;
+        when(clientRepository.findExistingOibs(anyCollection())).thenReturn(Set.of());
+
+        BatchResult result = clientBatchService.importClients(stream(body));
+
+        assertEquals(3, result.getAccepted());
+        assertEquals(0, result.getRejected());
+
+        ArgumentCaptor<List<Client>> saved = ArgumentCaptor.forClass(List.class);
+        verify(clientRepository, times(2)).saveAll(saved.capture());
+        assertEquals(2, saved.getAllValues().get(0).size());
+        assertEquals(1, saved.getAllValues().get(1).size());
+        verify(entityManager, times(2)).clear();
+        assertEquals(1L, statusCounters.snapshot().get(CardStatus.PENDING));
+        assertEquals(1L, statusCounters.snapshot().get(CardStatus.ACTIVE));
+    }
+
+    @Test
+    void importJsonArrayRejectsInvalidRowsTest() throws IOException {
+        String body = """
+                [
+                  {"firstName":"Ana","lastName":"Anić","oib":"12345678903","cardStatus":"ACCEPTED"},
+                  {"firstName":"Ivo","lastName":"Ivić","oib":"12345678904","cardStatus":"PENDING"},
+                  {"firstName":"Ivo","lastName":"Ivić","oib":"98765432106","cardStatus":"UNKNOWN"},
+                  {"firstName":"Ana","lastName":"Anić","oib":"12345678903","cardStatus":"ACCEPTED"},
+                  {"firstName":"Marko","lastName":"Marić","oib":"69581124674","cardStatus":"ACTIVE"}
+                ]
+                """;
+        when(clientRepository.findExistingOibs(anyCollection())).thenReturn(Set.of("69581124674"));
+
+        BatchResult result = clientBatchService.importClients(stream(body));
+
+        assertEquals(1, result.getAccepted());
+        assertEquals(4, result.getRejected());
+        assertEquals(5, result.getRows().size());
+        assertTrue(result.getRows().get(0).isAccepted());
+        assertTrue(result.getRows().get(1).getReason().contains("Invalid OIB"));
+        assertTrue(result.getRows().get(2).getReason().startsWith("Invalid input"));
+        assertEquals("Duplicate OIB within the batch.", result.getRows().get(3).getReason());
+        assertFalse(result.getRows().get(4).isAccepted());
+    }
+
+    @Test
+    void importStopsOnMalformedPayloadTest() throws IOException {
+        String body = """
+                {"firstName":"Ana","lastName":"Anić","oib":"12345678903","cardStatus":"ACCEPTED"}
+                {"firstName":"Ivo",
+                """;
+        when(clientRepository.findExistingOibs(anyCollection())).thenReturn(Set.of());
+
+        BatchResult result = clientBatchService.importClients(stream(body));
+
+        assertEquals(1, result.getAccepted());
+        assertEquals(1, result.getRejected());
+        assertTrue(result.getRows().get(1).getReason().startsWith("Malformed input"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deleteClientsInChunksTest() {
+        when(clientRepository.lockCardStatuses(anyCollection()))
+                .thenReturn(List.of(CardStatus.ACTIVE, CardStatus.PENDING), List.of());
+        when(clientRepository.deleteByOibIn(anyCollection())).thenReturn(2);
+
+        DeleteClientsResult result = clientBatchService.deleteClients(
+                List.of("12345678903", "98765432106", "12345678903", "69581124674"));
+
+        assertEquals(3, result.getRequested());
+        assertEquals(2, result.getDeleted());
+
+        ArgumentCaptor<Collection<String>> deleted = ArgumentCaptor.forClass(Collection.class);
+        verify(clientRepository, times(2)).lockCardStatuses(deleted.capture());
+        assertEquals(List.of("12345678903", "98765432106"), deleted.getAllValues().get(0));
+        assertEquals(List.of("69581124674"), deleted.getAllValues().get(1));
+        verify(clientRepository).deleteByOibIn(List.of("12345678903", "98765432106"));
+        assertEquals(-1L, statusCounters.snapshot().get(CardStatus.ACTIVE));
+        assertEquals(-1L, statusCounters.snapshot().get(CardStatus.PENDING));
+    }
+
+    private static ByteArrayInputStream stream(final String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,34 +1,55 @@
 package com.task.client.card.app;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.client.card.app.api.CardApiClient;
 import com.task.client.card.app.controller.ClientController;
+import com.task.client.card.app.dto.CardStatusChange;
 import com.task.client.card.app.dto.ClientDTO;
+import com.task.client.card.app.dto.ClientPage;
+import com.task.client.card.app.dto.ClientStats;
+import com.task.client.card.app.dto.ClientView;
 import com.task.client.card.app.dto.ErrorResponse;
 import com.task.client.card.app.dto.NewCardRequest;
 import com.task.client.card.app.dto.Response;
+import com.task.client.card.app.dto.SendBatchRequest;
+import com.task.client.card.app.dto.SendBatchResult;
 import com.task.client.card.app.entity.Client;
 import com.task.client.card.app.enums.CardStatus;
 import com.task.client.card.app.exception.ExternalApiException;
 import com.task.client.card.app.kafka.KafkaService;
 import com.task.client.card.app.mapper.ClientMapper;
 import com.task.client.card.app.repository.ClientRepository;
+import com.task.client.card.app.repository.ClientStatusHistoryRepository;
+import com.task.client.card.app.service.CardSubmissionService;
+import com.task.client.card.app.service.ClientStatusCounters;
+import com.task.client.card.app.service.ClientUpsertService;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
-import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -38,20 +59,28 @@ public class ClientControllerTest {
     private ClientRepository clientRepository;
 
     @Mock
-    private RestTemplate restTemplate;
+    private CardApiClient cardApiClient;
 
     @Mock
     private KafkaService kafkaService;
 
+    @Mock
+    private ClientUpsertService clientUpsertService;
+
+    @Mock
+    private ClientStatusHistoryRepository clientStatusHistoryRepository;
+
     @InjectMocks
     private ClientController clientController;
 
-    @Value("${api.url}")
-    private String apiUrl;
-
     @BeforeEach
     void setUp() {
         MockitoAnnotations.initMocks(this);
+        ReflectionTestUtils.setField(clientController, "cardSubmissionService",
+                new CardSubmissionService(cardApiClient, kafkaService, clientRepository, new SimpleMeterRegistry(), 2,
+                        Duration.ofHours(1), 100));
+        ReflectionTestUtils.setField(clientController, "clientStatusCounters",
+                new ClientStatusCounters(clientRepository, Duration.ofMinutes(5)));
     }
 
     @Test
@@ -72,18 +101,38 @@ public class ClientControllerTest {
         assertEquals("Client successfully created.", response.getBody());
     }
 
+    @Test
+    void getClientStatsTest() {
+        when(clientRepository.countPerCardStatus()).thenReturn(List.of(
+                new Object[]{CardStatus.ACCEPTED, 3L},
+                new Object[]{CardStatus.ACTIVE, 2L}));
+        ClientStatusCounters counters = (ClientStatusCounters) ReflectionTestUtils.getField(clientController,
+                "clientStatusCounters");
+        counters.refresh();
+
+        ClientDTO clientDTO = new ClientDTO();
+        clientDTO.setFirstName("Ana");
+        clientDTO.setLastName("Anić");
+        clientDTO.setOib("12345678903");
+        clientDTO.setCardStatus(CardStatus.ACCEPTED);
+        clientController.createClient(clientDTO);
+
+        ClientStats stats = clientController.getClientStats().getBody();
+
+        assertEquals(4L, stats.getCounts().get(CardStatus.ACCEPTED));
+        assertEquals(2L, stats.getCounts().get(CardStatus.ACTIVE));
+        assertEquals(0L, stats.getCounts().get(CardStatus.PENDING));
+        assertEquals(6L, stats.getTotal());
+    }
+
     @Test
     void getClientByOibTest() {
         String oib = "12345678903";
-        Client client = new Client();
-        client.setFirstName("Ana");
-        client.setLastName("Anić");
-        client.setOib(oib);
-        client.setCardStatus(CardStatus.ACCEPTED);
+        ClientView client = new ClientView(1L, "Ana", "Anić", oib, CardStatus.ACCEPTED, 0L);
 
         when(clientRepository.findByOib(oib)).thenReturn(client);
 
-        ResponseEntity<Client> response = clientController.getClientByOib(oib);
+        ResponseEntity<ClientView> response = clientController.getClientByOib(oib);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(client, response.getBody());
@@ -95,71 +144,118 @@ public class ClientControllerTest {
 
         when(clientRepository.findByOib(oib)).thenReturn(null);
 
-        ResponseEntity<Client> response = clientController.getClientByOib(oib);
+        ResponseEntity<ClientView> response = clientController.getClientByOib(oib);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
 
+    @Test
+    void listClientsTest() {
+        ClientView first = new ClientView(11L, null, null, null, null, 0L);
+        ClientView second = new ClientView(12L, null, null, null, null, 0L);
+
+        when(clientRepository.findByCardStatusAndIdGreaterThanOrderByIdAsc(eq(CardStatus.PENDING), eq(10L), any()))
+                .thenReturn(List.of(first, second));
+
+        ResponseEntity<ClientPage> fullPage = clientController.listClients(10L, 2, CardStatus.PENDING);
+
+        assertEquals(HttpStatus.OK, fullPage.getStatusCode());
+        assertEquals(2, fullPage.getBody().getItems().size());
+        assertEquals(12L, fullPage.getBody().getNextAfterId());
+
+        ResponseEntity<ClientPage> lastPage = clientController.listClients(10L, 3, CardStatus.PENDING);
+
+        assertNull(lastPage.getBody().getNextAfterId());
+    }
+
+    @Test
+    void getClientHistoryTest() {
+        List<CardStatusChange> history = List.of(
+                new CardStatusChange(CardStatus.ACCEPTED, CardStatus.PENDING, Instant.parse("2024-05-02T10:00:00Z")),
+                new CardStatusChange(null, CardStatus.ACCEPTED, Instant.parse("2024-05-01T10:00:00Z")));
+        when(clientStatusHistoryRepository.findByOib(eq("12345678903"), any())).thenReturn(history);
+
+        ResponseEntity<List<CardStatusChange>> response = clientController.getClientHistory("12345678903", 5000);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(history, response.getBody());
+        verify(clientStatusHistoryRepository).findByOib(eq("12345678903"), argThat(page -> page.getPageSize() == 1000));
+    }
+
+    @Test
+    void upsertClientTest() {
+        ClientDTO clientDTO = new ClientDTO();
+        clientDTO.setFirstName("Ana");
+        clientDTO.setLastName("Anić");
+        clientDTO.setOib("12345678903");
+        clientDTO.setCardStatus(CardStatus.ACCEPTED);
+        ClientView stored = new ClientView(1L, "Ana", "Anić", "12345678903", CardStatus.ACCEPTED, 3L);
+
+        when(clientUpsertService.update(clientDTO, 2L)).thenReturn(stored);
+
+        ResponseEntity<ClientView> updated = clientController.upsertClient("12345678903", clientDTO, "W/\"2\"");
+        ResponseEntity<ClientView> invalidVersion = clientController.upsertClient("12345678903", clientDTO, "abc");
+        ResponseEntity<ClientView> otherOib = clientController.upsertClient("98765432106", clientDTO, null);
+
+        assertEquals(HttpStatus.OK, updated.getStatusCode());
+        assertEquals("\"3\"", updated.getHeaders().getETag());
+        assertEquals(HttpStatus.BAD_REQUEST, invalidVersion.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, otherOib.getStatusCode());
+        verify(clientUpsertService, never()).upsert(any());
+    }
+
     @Test
     void deleteClientByOibTest() {
         String oib = "12345678903";
-        Client client = new Client();
-        client.setFirstName("Ana");
-        client.setLastName("Anić");
-        client.setOib(oib);
-        client.setCardStatus(CardStatus.ACCEPTED);
 
-        when(clientRepository.findByOib(oib)).thenReturn(client);
+        when(clientRepository.lockCardStatuses(List.of(oib))).thenReturn(List.of(CardStatus.ACTIVE));
+        when(clientRepository.deleteByOib(oib)).thenReturn(1);
 
         ResponseEntity<Void> response = clientController.deleteClientByOib(oib);
 
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(clientRepository, never()).findByOib(any());
+        ClientStatusCounters counters = (ClientStatusCounters) ReflectionTestUtils.getField(clientController,
+                "clientStatusCounters");
+        assertEquals(-1L, counters.snapshot().get(CardStatus.ACTIVE));
     }
 
     @Test
     void deleteClientByOibNotFoundTest() {
         String oib = "12345678903";
 
-        when(clientRepository.findByOib(oib)).thenReturn(null);
+        when(clientRepository.lockCardStatuses(List.of(oib))).thenReturn(List.of());
 
         ResponseEntity<Void> response = clientController.deleteClientByOib(oib);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        verify(clientRepository, never()).deleteByOib(oib);
     }
 
     @Test
     void sendClientToApiTest() {
         String oib = "12345678903";
-        Client client = new Client();
-        client.setFirstName("Ana");
-        client.setLastName("Anić");
-        client.setOib(oib);
-        client.setCardStatus(CardStatus.ACCEPTED);
+        ClientView client = new ClientView(1L, "Ana", "Anić", oib, CardStatus.ACCEPTED, 0L);
 
         NewCardRequest newCardRequest = ClientMapper.toNewCardRequestDto(client);
         Response response = new Response();
         response.setMessage("New card request successfully created.");
 
         when(clientRepository.findByOib(oib)).thenReturn(client);
-        when(restTemplate.postForEntity(apiUrl, newCardRequest, Response.class))
-                .thenReturn(new ResponseEntity<>(response, HttpStatus.CREATED));
+        when(cardApiClient.requestNewCard(newCardRequest)).thenReturn(Mono.just(new ResponseEntity<>(response, HttpStatus.CREATED)));
 
-        ResponseEntity<String> result = clientController.sendClientToApi(oib);
+        ResponseEntity<String> result = clientController.sendClientToApi(oib, null).block();
 
         assertEquals(HttpStatus.OK, result.getStatusCode());
         assertEquals("Data sent to API, status: New card request successfully created.", result.getBody());
 
-        verify(kafkaService).sendAsync(anyString());
+        verify(kafkaService).publish(argThat(event -> oib.equals(event.getOib()) && event.getApiCode() == 201));
     }
 
     @Test
     void sendClientToApiExternalApiErrorTest() {
         String oib = "12345678903";
-        Client client = new Client();
-        client.setFirstName("Ana");
-        client.setLastName("Anić");
-        client.setOib(oib);
-        client.setCardStatus(CardStatus.ACCEPTED);
+        ClientView client = new ClientView(1L, "Ana", "Anić", oib, CardStatus.ACCEPTED, 0L);
 
         NewCardRequest newCardRequest = ClientMapper.toNewCardRequestDto(client);
         ErrorResponse errorResponse = new ErrorResponse();
@@ -169,16 +265,85 @@ public class ClientControllerTest {
         when(clientRepository.findByOib(oib)).thenReturn(client);
 
         ExternalApiException apiException = new ExternalApiException("API error", errorResponse);
-        when(restTemplate.postForEntity(apiUrl, newCardRequest, Response.class)).thenThrow(apiException);
+        when(cardApiClient.requestNewCard(newCardRequest)).thenReturn(Mono.error(apiException));
 
-        ResponseEntity<String> result = clientController.sendClientToApi(oib);
+        ResponseEntity<String> result = clientController.sendClientToApi(oib, null).block();
 
         assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
         assertEquals("Error: Invalid data", result.getBody());
 
-        verify(kafkaService).sendAsync(contains("Error while sending data to API"));
+        verify(kafkaService).publish(argThat(event -> oib.equals(event.getOib()) && event.getApiCode() == 400));
     }
 
+    @Test
+    void sendClientToApiCircuitOpenTest() {
+        String oib = "12345678903";
+        ClientView client = new ClientView(1L, "Ana", "Anić", oib, CardStatus.ACCEPTED, 0L);
+
+        when(clientRepository.findByOib(oib)).thenReturn(client);
+        when(cardApiClient.requestNewCard(any())).thenReturn(Mono.error(
+                CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("cardApi"))));
+
+        ResponseEntity<String> result = clientController.sendClientToApi(oib, null).block();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, result.getStatusCode());
+        verify(kafkaService, never()).publish(any());
+    }
+
+    @Test
+    void sendClientToApiCoalescesConcurrentRequestsTest() {
+        String oib = "12345678903";
+        ClientView client = new ClientView(1L, "Ana", "Anić", oib, CardStatus.ACCEPTED, 0L);
+        Response response = new Response();
+        response.setMessage("Created");
+        Sinks.One<ResponseEntity<Response>> apiResponse = Sinks.one();
+
+        when(clientRepository.findByOib(oib)).thenReturn(client);
+        when(cardApiClient.requestNewCard(any())).thenReturn(apiResponse.asMono());
+
+        CompletableFuture<ResponseEntity<String>> first = clientController.sendClientToApi(oib, null).toFuture();
+        CompletableFuture<ResponseEntity<String>> second = clientController.sendClientToApi(oib, null).toFuture();
+        apiResponse.tryEmitValue(new ResponseEntity<>(response, HttpStatus.CREATED));
+
+        assertEquals(HttpStatus.OK, first.join().getStatusCode());
+        assertEquals(first.join().getBody(), second.join().getBody());
+        verify(cardApiClient, times(1)).requestNewCard(any());
+        verify(kafkaService, times(1)).publish(any());
+    }
+
+    @Test
+    void sendClientToApiIdempotencyKeyTest() {
+        String oib = "12345678903";
+        ClientView client = new ClientView(1L, "Ana", "Anić", oib, CardStatus.ACCEPTED, 0L);
+        Response response = new Response();
+        response.setMessage("Created");
+
+        when(clientRepository.findByOib(oib)).thenReturn(client);
+        when(cardApiClient.requestNewCard(any())).thenReturn(Mono.just(new ResponseEntity<>(response, HttpStatus.CREATED)));
+
+        ResponseEntity<String> first = clientController.sendClientToApi(oib, "key-1").block();
+        ResponseEntity<String> replay = clientController.sendClientToApi(oib, "key-1").block();
+        clientController.sendClientToApi(oib, "key-2").block();
+
+        assertEquals(first.getBody(), replay.getBody());
+        verify(cardApiClient, times(2)).requestNewCard(any());
+    }
+
+    @Test
+    void sendClientToApiIdempotencyKeyRetriesUnavailableTest() {
+        String oib = "12345678903";
+        ClientView client = new ClientView(1L, "Ana", "Anić", oib, CardStatus.ACCEPTED, 0L);
+
+        when(clientRepository.findByOib(oib)).thenReturn(client);
+        when(cardApiClient.requestNewCard(any())).thenReturn(Mono.error(
+                CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("cardApi"))));
+
+        clientController.sendClientToApi(oib, "key-1").block();
+        ResponseEntity<String> retry = clientController.sendClientToApi(oib, "key-1").block();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, retry.getStatusCode());
+        verify(cardApiClient, times(2)).requestNewCard(any());
+    }
 
     @Test
     void sendClientToApiClientNotFoundTest() {
@@ -186,11 +351,35 @@ public class ClientControllerTest {
 
         when(clientRepository.findByOib(oib)).thenReturn(null);
 
-        ResponseEntity<String> result = clientController.sendClientToApi(oib);
+        ResponseEntity<String> result = clientController.sendClientToApi(oib, null).block();
 
         assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode());
         assertEquals("Client not found", result.getBody());
     }
 
+    @Test
+    void sendClientsToApiByOibTest() {
+        String oib = "12345678903";
+        String missingOib = "98765432106";
+        ClientView client = new ClientView(1L, "Ana", "Anić", oib, CardStatus.PENDING, 0L);
+
+        Response response = new Response();
+        response.setMessage("New card request successfully created.");
+
+        when(clientRepository.findByOibIn(List.of(oib, missingOib))).thenReturn(List.of(client));
+        when(cardApiClient.requestNewCard(ClientMapper.toNewCardRequestDto(client)))
+                .thenReturn(Mono.just(new ResponseEntity<>(response, HttpStatus.CREATED)));
+
+        SendBatchRequest request = new SendBatchRequest();
+        request.setOibs(List.of(oib, missingOib));
+        ResponseEntity<SendBatchResult> result = clientController.sendClientsToApi(request).block();
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(1, result.getBody().getSent());
+        assertEquals(1, result.getBody().getNotFound());
+        assertEquals(missingOib, result.getBody().getResults().get(1).getOib());
+
+        verify(kafkaService).publish(argThat(event -> oib.equals(event.getOib())));
+    }
 
 }
@@ -0,0 +1,207 @@
+package com.task.client.card.app;
+
+import com.task.client.card.app.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test: boots the application against an embedded Kafka broker, an in-memory database and
+ * {@link CardApiStub}, drives mixed create/get/send/delete traffic over HTTP and reports throughput and
+ * latency percentiles to the log and {@code target/load-test-report.txt}.
+ * Excluded from the default build; run with {@code mvn test -Pload-test}. Tunable with system properties:
+ * {@code load.duration}, {@code load.warmup}, {@code load.concurrency}, {@code load.get-ratio},
+ * {@code load.send-ratio}, {@code load.delete-ratio}, {@code stub.latency-ms}, {@code stub.jitter-ms} and
+ * {@code stub.error-rate}.
+ */
+@Tag("load")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EmbeddedKafka(partitions = 3, topics = "card-status-topic", bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+class ClientLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientLoadTest.class);
+
+    private static final Duration DURATION = Duration.parse("PT" + System.getProperty("load.duration", "30s"));
+    private static final Duration WARMUP = Duration.parse("PT" + System.getProperty("load.warmup", "10s"));
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 32);
+    private static final double GET_RATIO = Double.parseDouble(System.getProperty("load.get-ratio", "1.0"));
+    private static final double SEND_RATIO = Double.parseDouble(System.getProperty("load.send-ratio", "0.5"));
+    private static final double DELETE_RATIO = Double.parseDouble(System.getProperty("load.delete-ratio", "0.5"));
+
+    private static final CardApiStub CARD_API = startStub();
+
+    private static final AtomicLong OIB_SEQUENCE = new AtomicLong(1_000_000_000L);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @DynamicPropertySource
+    static void cardApiProperties(final DynamicPropertyRegistry registry) {
+        registry.add("api.url", CARD_API::url);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        CARD_API.close();
+    }
+
+    @Test
+    void mixedTrafficTest() throws Exception {
+        runPhase(WARMUP, new LatencyRecorder());
+
+        final LatencyRecorder recorder = new LatencyRecorder();
+        final long started = System.nanoTime();
+        runPhase(DURATION, recorder);
+        final double seconds = (System.nanoTime() - started) / 1e9;
+
+        final String report = String.format("Load test: %d workers, %.1f s, card API stub %s ms latency, %s error rate%n%s",
+                CONCURRENCY, seconds, System.getProperty("stub.latency-ms", "20"),
+                System.getProperty("stub.error-rate", "0.05"), recorder.report(seconds));
+        logger.info(report);
+        Files.writeString(Path.of("target", "load-test-report.txt"), report);
+
+        assertTrue(recorder.count("create") > 0);
+        assertEquals(0, recorder.errors("create"));
+        assertEquals(0, recorder.errors("get"));
+        assertEquals(0, recorder.errors("send"));
+        assertEquals(0, recorder.errors("delete"));
+        assertOutboxDrained();
+    }
+
+    private void runPhase(final Duration duration, final LatencyRecorder recorder) throws InterruptedException {
+        final long deadline = System.nanoTime() + duration.toNanos();
+        final ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+        for (int i = 0; i < CONCURRENCY; i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    iteration(recorder);
+                }
+            });
+        }
+        workers.shutdown();
+        assertTrue(workers.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Creates one client and then, according to the configured ratios, reads it, sends it to the card API and deletes it.
+     * A send answered with the stub's 400 or 500 is a handled outcome, not an error.
+     */
+    private void iteration(final LatencyRecorder recorder) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final String oib = nextOib();
+        final String body = "{\"firstName\":\"Ana\",\"lastName\":\"Anić\",\"oib\":\"" + oib + "\",\"cardStatus\":\"PENDING\"}";
+        if (call(recorder, "create", post("/clients", body), 201) != 201) {
+            return;
+        }
+        if (random.nextDouble() < GET_RATIO) {
+            call(recorder, "get", HttpRequest.newBuilder(uri("/clients/" + oib)).GET(), 200);
+        }
+        if (random.nextDouble() < SEND_RATIO) {
+            call(recorder, "send", post("/clients/send/" + oib, ""), 200, 400, 500);
+        }
+        if (random.nextDouble() < DELETE_RATIO) {
+            call(recorder, "delete", HttpRequest.newBuilder(uri("/clients/" + oib)).DELETE(), 204);
+        }
+    }
+
+    private int call(final LatencyRecorder recorder, final String operation, final HttpRequest.Builder request,
+                     final int... expected) {
+        final long start = System.nanoTime();
+        int status;
+        try {
+            status = httpClient.send(request.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            status = -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = -1;
+        }
+        boolean error = true;
+        for (int code : expected) {
+            error &= status != code;
+        }
+        recorder.record(operation, System.nanoTime() - start, error);
+        return status;
+    }
+
+    private HttpRequest.Builder post(final String path, final String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private URI uri(final String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private void assertOutboxDrained() throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!outboxEventRepository.findByDeliveredAtIsNullOrderByIdAsc(PageRequest.of(0, 1)).isEmpty()) {
+            assertTrue(System.nanoTime() < deadline, "Outbox was not relayed to Kafka within 30 s");
+            Thread.sleep(200);
+        }
+    }
+
+    /**
+     * Returns a unique OIB with a valid ISO 7064 (MOD 11, 10) control digit.
+     */
+    private static String nextOib() {
+        final String digits = Long.toString(OIB_SEQUENCE.getAndIncrement());
+        int a = 10;
+        for (int i = 0; i < digits.length(); i++) {
+            a = (a + digits.charAt(i) - '0') % 10;
+            if (a == 0) {
+                a = 10;
+            }
+            a = (a * 2) % 11;
+        }
+        return digits + (11 - a) % 10;
+    }
+
+    private static CardApiStub startStub() {
+        try {
+            return new CardApiStub(Long.getLong("stub.latency-ms", 20), Long.getLong("stub.jitter-ms", 10),
+                    Double.parseDouble(System.getProperty("stub.error-rate", "0.05")));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.task.client.card.app;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.task.client.card.app.config.CacheConfig;
+import com.task.client.card.app.dto.CardStatusChange;
+import com.task.client.card.app.dto.ClientDTO;
+import com.task.client.card.app.dto.ClientView;
+import com.task.client.card.app.enums.CardStatus;
+import com.task.client.card.app.exception.InvalidStatusTransitionException;
+import com.task.client.card.app.repository.ClientRepository;
+import com.task.client.card.app.repository.ClientStatusHistoryRepository;
+import com.task.client.card.app.service.ClientStatusCounters;
+import com.task.client.card.app.service.ClientUpsertService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.WebClientAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs the native upsert and conditional update statements against the Flyway schema on H2 in PostgreSQL mode.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:upsert;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(WebClientAutoConfiguration.class)
+@Import({ClientUpsertService.class, ClientStatusCounters.class, CacheConfig.class})
+public class ClientUpsertServiceTest {
+
+    @Autowired
+    private ClientUpsertService clientUpsertService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ClientStatusHistoryRepository historyRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void clearCache() {
+        nativeCache().invalidateAll();
+    }
+
+    @Test
+    void upsertCreatesThenUpdatesTest() {
+        ClientView created = clientUpsertService.upsert(clientDTO("Ana", CardStatus.ACCEPTED));
+        ClientView updated = clientUpsertService.upsert(clientDTO("Ivana", CardStatus.PENDING));
+
+        assertEquals(0L, created.getVersion());
+        assertEquals(1L, updated.getVersion());
+        assertEquals(created.getId(), updated.getId());
+        assertEquals(1L, clientRepository.count());
+        assertEquals("Ivana", clientRepository.findByOib("12345678903").getFirstName());
+    }
+
+    @Test
+    void conditionalUpdateChecksVersionTest() {
+        clientUpsertService.upsert(clientDTO("Ana", CardStatus.ACCEPTED));
+
+        ClientView updated = clientUpsertService.update(clientDTO("Ana", CardStatus.PENDING), 0L);
+
+        assertEquals(1L, updated.getVersion());
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> clientUpsertService.update(clientDTO("Ana", CardStatus.REJECTED), 0L));
+        assertEquals(CardStatus.PENDING, clientRepository.findByOib("12345678903").getCardStatus());
+    }
+
+    @Test
+    void statusChangesFollowLifecycleTest() {
+        clientUpsertService.upsert(clientDTO("Ana", CardStatus.ACCEPTED));
+        clientUpsertService.upsert(clientDTO("Ivana", CardStatus.PENDING));
+        clientUpsertService.upsert(clientDTO("Ivana", CardStatus.PENDING));
+
+        assertThrows(InvalidStatusTransitionException.class,
+                () -> clientUpsertService.upsert(clientDTO("Ana", CardStatus.ACCEPTED)));
+        assertThrows(InvalidStatusTransitionException.class,
+                () -> clientUpsertService.update(clientDTO("Ana", CardStatus.EXPIRED), 2L));
+        assertEquals(List.of(CardStatus.PENDING, CardStatus.ACCEPTED),
+                historyRepository.findByOib("12345678903", PageRequest.ofSize(10)).stream()
+                        .map(CardStatusChange::getToStatus).toList());
+    }
+
+    @Test
+    void staleCachedStatusDoesNotRefuseChangeTest() {
+        clientUpsertService.upsert(clientDTO("Ana", CardStatus.ACCEPTED));
+        clientUpsertService.upsert(clientDTO("Ana", CardStatus.PENDING));
+        nativeCache().put("12345678903", new ClientView(1L, "Ana", "Anić", "12345678903", CardStatus.ACCEPTED, 0L));
+
+        ClientView updated = clientUpsertService.upsert(clientDTO("Ana", CardStatus.ACTIVE));
+
+        assertEquals(CardStatus.ACTIVE, updated.getCardStatus());
+        assertEquals(2L, updated.getVersion());
+    }
+
+    @Test
+    void conditionalUpdateOfMissingClientTest() {
+        assertNull(clientUpsertService.update(clientDTO("Ana", CardStatus.ACCEPTED), 0L));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Object, Object> nativeCache() {
+        return (Cache<Object, Object>) cacheManager.getCache(CacheConfig.CLIENTS_CACHE).getNativeCache();
+    }
+
+    private static ClientDTO clientDTO(final String firstName, final CardStatus cardStatus) {
+        ClientDTO clientDTO = new ClientDTO();
+        clientDTO.setFirstName(firstName);
+        clientDTO.setLastName("Anić");
+        clientDTO.setOib("12345678903");
+        clientDTO.setCardStatus(cardStatus);
+        return clientDTO;
+    }
+}
@@ -0,0 +1,88 @@
+package com.task.client.card.app;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects request latencies per operation and formats throughput and percentiles.
+ * Every sample is kept, which is fine for the few hundred thousand requests of a load test run.
+ */
+class LatencyRecorder {
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+
+    void record(final String operation, final long nanos, final boolean error) {
+        operations.computeIfAbsent(operation, name -> new Operation()).add(nanos, error);
+    }
+
+    long errors(final String operation) {
+        final Operation op = operations.get(operation);
+        return op == null ? 0 : op.errors();
+    }
+
+    long count(final String operation) {
+        final Operation op = operations.get(operation);
+        return op == null ? 0 : op.size();
+    }
+
+    String report(final double seconds) {
+        final StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+                "%-8s %9s %7s %9s %9s %9s %9s %9s%n", "op", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        long total = 0;
+        for (String name : operations.keySet().stream().sorted().toList()) {
+            final Operation op = operations.get(name);
+            final long[] samples = op.sorted();
+            total += samples.length;
+            report.append(String.format(Locale.ROOT, "%-8s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    name, samples.length, op.errors(), samples.length / seconds,
+                    millis(percentile(samples, 0.50)), millis(percentile(samples, 0.90)),
+                    millis(percentile(samples, 0.99)), millis(samples.length == 0 ? 0 : samples[samples.length - 1])));
+        }
+        report.append(String.format(Locale.ROOT, "%-8s %9d %7s %9.1f%n", "total", total, "", total / seconds));
+        return report.toString();
+    }
+
+    private static long percentile(final long[] sorted, final double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private static double millis(final long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Operation {
+
+        private long[] samples = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(final long nanos, final boolean error) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+            if (error) {
+                errors++;
+            }
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+
+        synchronized long[] sorted() {
+            final long[] copy = Arrays.copyOf(samples, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
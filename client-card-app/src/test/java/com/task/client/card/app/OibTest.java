@@ -0,0 +1,51 @@
+package com.task.client.card.app;
+
+import com.task.client.card.app.validation.Oib;
+import com.task.client.card.app.validation.OibValidatorImpl;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OibTest {
+
+    private final OibValidatorImpl validator = new OibValidatorImpl();
+
+    @Test
+    void validOibTest() {
+        assertTrue(validator.isValid("12345678903", null));
+        assertTrue(validator.isValid("69581124674", null));
+        assertTrue(validator.isValid("00000000010", null));
+    }
+
+    @Test
+    void invalidOibTest() {
+        assertFalse(validator.isValid(null, null));
+        assertFalse(validator.isValid("1234567890", null));
+        assertFalse(validator.isValid("12345678904", null));
+        assertFalse(validator.isValid("1234567890X", null));
+        assertFalse(validator.isValid("1234567890-", null));
+        // Arabic-Indic digits have a numeric value but are not ASCII digits
+        assertFalse(validator.isValid("١٢٣٤٥٦٧٨٩٠3", null));
+    }
+
+    @Test
+    void packAndFormatTest() {
+        assertEquals(12345678903L, Oib.pack("12345678903"));
+        assertEquals(10L, Oib.pack("00000000010"));
+        assertEquals(Oib.INVALID, Oib.pack("12345678904"));
+        assertEquals("00000000010", Oib.format(10L));
+        assertEquals("00000000010", Oib.of("00000000010").toString());
+        assertEquals(Oib.of("12345678903"), new Oib(12345678903L));
+    }
+
+    @Test
+    void invalidPackedValueTest() {
+        assertTrue(Oib.isValid(69581124674L));
+        assertFalse(Oib.isValid(69581124675L));
+        assertFalse(Oib.isValid(-1L));
+        assertThrows(IllegalArgumentException.class, () -> new Oib(123456789031L));
+    }
+}
@@ -0,0 +1,134 @@
+package com.task.client.card.app;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.client.card.app.entity.OutboxEvent;
+import com.task.client.card.app.enums.CardStatus;
+import com.task.client.card.app.kafka.CardStatusEvent;
+import com.task.client.card.app.kafka.OutboxRelay;
+import com.task.client.card.app.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.BufferExhaustedException;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<String, CardStatusEvent> kafkaTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        outboxRelay = new OutboxRelay(outboxEventRepository, kafkaTemplate, objectMapper, 3,
+                Duration.ofSeconds(1), Duration.ofHours(1), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void relayBatchMarksAcknowledgedEventsTest() throws Exception {
+        when(outboxEventRepository.findByDeliveredAtIsNullOrderByIdAsc(any()))
+                .thenReturn(List.of(event(1L, "12345678903"), event(2L, "98765432106")));
+        when(kafkaTemplate.send(eq("card-status-topic"), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new SendResult<>(null, null)));
+
+        int relayed = outboxRelay.relayBatch();
+
+        assertEquals(2, relayed);
+        verify(kafkaTemplate).send(eq("card-status-topic"), eq("12345678903"),
+                argThat(event -> event.getNewStatus() == CardStatus.ACTIVE && event.getApiCode() == 201));
+        verify(outboxEventRepository).markDelivered(eq(List.of(1L, 2L)), any(Instant.class));
+    }
+
+    @Test
+    void relayBatchStopsAtFirstFailureTest() throws Exception {
+        when(outboxEventRepository.findByDeliveredAtIsNullOrderByIdAsc(any()))
+                .thenReturn(List.of(event(1L, "12345678903"), event(2L, "98765432106"), event(3L, "69581124674")));
+        when(kafkaTemplate.send(eq("card-status-topic"), eq("12345678903"), any()))
+                .thenReturn(CompletableFuture.completedFuture(new SendResult<>(null, null)));
+        when(kafkaTemplate.send(eq("card-status-topic"), eq("98765432106"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+        when(kafkaTemplate.send(eq("card-status-topic"), eq("69581124674"), any()))
+                .thenReturn(CompletableFuture.completedFuture(new SendResult<>(null, null)));
+
+        int relayed = outboxRelay.relayBatch();
+
+        assertEquals(1, relayed);
+        verify(outboxEventRepository).markDelivered(eq(List.of(1L)), any(Instant.class));
+    }
+
+    @Test
+    void relayBatchDiscardsUnserializableEventTest() throws Exception {
+        when(outboxEventRepository.findByDeliveredAtIsNullOrderByIdAsc(any()))
+                .thenReturn(List.of(event(1L, "12345678903"), event(2L, "12345678904"), event(3L, "69581124674")));
+        when(kafkaTemplate.send(eq("card-status-topic"), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new SendResult<>(null, null)));
+        when(kafkaTemplate.send(eq("card-status-topic"), eq("12345678904"), any()))
+                .thenThrow(new SerializationException("Invalid OIB: 12345678904"));
+
+        int relayed = outboxRelay.relayBatch();
+
+        assertEquals(3, relayed);
+        verify(outboxEventRepository).markDelivered(eq(List.of(1L, 2L, 3L)), any(Instant.class));
+    }
+
+    @Test
+    void relayBatchStopsAtSynchronousSendFailureTest() throws Exception {
+        when(outboxEventRepository.findByDeliveredAtIsNullOrderByIdAsc(any()))
+                .thenReturn(List.of(event(1L, "12345678903"), event(2L, "98765432106"), event(3L, "69581124674")));
+        when(kafkaTemplate.send(eq("card-status-topic"), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new SendResult<>(null, null)));
+        when(kafkaTemplate.send(eq("card-status-topic"), eq("98765432106"), any()))
+                .thenThrow(new BufferExhaustedException("Failed to allocate memory within the configured max blocking time"));
+
+        int relayed = outboxRelay.relayBatch();
+
+        assertEquals(1, relayed);
+        verify(outboxEventRepository).markDelivered(eq(List.of(1L)), any(Instant.class));
+    }
+
+    @Test
+    void relayBatchWithEmptyOutboxTest() {
+        when(outboxEventRepository.findByDeliveredAtIsNullOrderByIdAsc(any())).thenReturn(List.of());
+
+        assertEquals(0, outboxRelay.relayBatch());
+        verify(kafkaTemplate, never()).send(any(), anyInt(), any(), any());
+        verify(outboxEventRepository, never()).markDelivered(any(), any());
+    }
+
+    private OutboxEvent event(final long id, final String oib) throws Exception {
+        CardStatusEvent cardStatusEvent = new CardStatusEvent(oib, CardStatus.PENDING, CardStatus.ACTIVE, 201,
+                System.currentTimeMillis());
+        OutboxEvent event = new OutboxEvent();
+        event.setId(id);
+        event.setTopic("card-status-topic");
+        event.setMessageKey(oib);
+        event.setPayload(objectMapper.writeValueAsString(cardStatusEvent));
+        event.setCreatedAt(Instant.now());
+        return event;
+    }
+}
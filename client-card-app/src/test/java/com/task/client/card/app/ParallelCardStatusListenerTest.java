@@ -0,0 +1,131 @@
+package com.task.client.card.app;
+
+import com.task.client.card.app.enums.CardStatus;
+import com.task.client.card.app.kafka.CardStatusEvent;
+import com.task.client.card.app.kafka.ParallelCardStatusListener;
+import com.task.client.card.app.service.CardStatusUpdateService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ParallelCardStatusListenerTest {
+
+    @Mock
+    private CardStatusUpdateService cardStatusUpdateService;
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
+    private ParallelCardStatusListener listener;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        listener = new ParallelCardStatusListener(cardStatusUpdateService, new SimpleMeterRegistry(), 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.shutdown();
+    }
+
+    @Test
+    void appliesEveryClientInOrderOnOneLaneTest() {
+        List<List<CardStatusEvent>> applied = Collections.synchronizedList(new ArrayList<>());
+        when(cardStatusUpdateService.applyStatusUpdates(anyList())).thenAnswer(invocation -> {
+            applied.add(invocation.getArgument(0));
+            return 1;
+        });
+        List<ConsumerRecord<String, CardStatusEvent>> records = records(
+                event("12345678903", CardStatus.PENDING, 1L),
+                event("98765432106", CardStatus.ACTIVE, 2L),
+                null,
+                event("12345678903", CardStatus.ACTIVE, 3L),
+                event("69581124674", CardStatus.REJECTED, 4L),
+                event("98765432106", CardStatus.EXPIRED, 5L));
+
+        listener.onStatusUpdates(records, acknowledgment);
+
+        verify(acknowledgment).acknowledge();
+        assertEquals(5, applied.stream().mapToInt(List::size).sum());
+        for (String oib : List.of("12345678903", "98765432106", "69581124674")) {
+            List<List<CardStatusEvent>> lanes = applied.stream()
+                    .filter(lane -> lane.stream().anyMatch(e -> e.getOib().equals(oib)))
+                    .toList();
+            assertEquals(1, lanes.size());
+            List<Long> timestamps = lanes.get(0).stream().filter(e -> e.getOib().equals(oib))
+                    .map(CardStatusEvent::getTimestamp).toList();
+            assertEquals(timestamps.stream().sorted().toList(), timestamps);
+        }
+    }
+
+    @Test
+    void failedRecordIsReportedAndAppliedRecordsAreSkippedOnRedeliveryTest() {
+        List<List<CardStatusEvent>> applied = Collections.synchronizedList(new ArrayList<>());
+        when(cardStatusUpdateService.applyStatusUpdates(anyList())).thenAnswer(invocation -> {
+            List<CardStatusEvent> lane = invocation.getArgument(0);
+            if (lane.stream().anyMatch(e -> e.getTimestamp() == 3L)) {
+                throw new IllegalStateException("constraint violated");
+            }
+            applied.add(lane);
+            return lane.size();
+        });
+        List<ConsumerRecord<String, CardStatusEvent>> records = records(
+                null,
+                event("12345678903", CardStatus.PENDING, 1L),
+                event("98765432106", CardStatus.ACTIVE, 2L),
+                event("12345678903", CardStatus.ACTIVE, 3L),
+                event("98765432106", CardStatus.EXPIRED, 4L));
+
+        BatchListenerFailedException failure = assertThrows(BatchListenerFailedException.class,
+                () -> listener.onStatusUpdates(records, acknowledgment));
+
+        assertEquals(3, failure.getIndex());
+        verify(acknowledgment, never()).acknowledge();
+        assertEquals(List.of(1L, 2L, 4L), timestamps(applied));
+
+        applied.clear();
+        when(cardStatusUpdateService.applyStatusUpdates(anyList())).thenAnswer(invocation -> {
+            applied.add(invocation.getArgument(0));
+            return 1;
+        });
+        listener.onStatusUpdates(records.subList(3, 5), acknowledgment);
+
+        verify(acknowledgment).acknowledge();
+        assertEquals(List.of(3L), timestamps(applied));
+    }
+
+    private static List<Long> timestamps(final List<List<CardStatusEvent>> lanes) {
+        return lanes.stream().flatMap(List::stream).map(CardStatusEvent::getTimestamp).sorted().toList();
+    }
+
+    private static List<ConsumerRecord<String, CardStatusEvent>> records(final CardStatusEvent... events) {
+        List<ConsumerRecord<String, CardStatusEvent>> records = new ArrayList<>();
+        for (int i = 0; i < events.length; i++) {
+            String key = events[i] != null ? events[i].getOib() : null;
+            records.add(new ConsumerRecord<>("card-status-topic", 0, i, key, events[i]));
+        }
+        return records;
+    }
+
+    private static CardStatusEvent event(final String oib, final CardStatus newStatus, final long timestamp) {
+        return new CardStatusEvent(oib, null, newStatus, 0, timestamp);
+    }
+}
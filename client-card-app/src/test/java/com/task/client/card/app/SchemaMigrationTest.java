@@ -0,0 +1,71 @@
+package com.task.client.card.app;
+
+import com.task.client.card.app.dto.ClientView;
+import com.task.client.card.app.entity.Client;
+import com.task.client.card.app.enums.CardStatus;
+import com.task.client.card.app.repository.ClientRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.WebClientAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs the Flyway migrations against H2 in PostgreSQL mode and lets Hibernate validate the entities against them.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migration;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(WebClientAutoConfiguration.class)
+public class SchemaMigrationTest {
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Test
+    void migratedSchemaStoresClientsTest() {
+        clientRepository.saveAll(List.of(client("12345678903", CardStatus.ACCEPTED), client("98765432106", CardStatus.ACCEPTED),
+                client("69581124674", CardStatus.ACTIVE)));
+
+        assertEquals(Set.of("12345678903"), clientRepository.findExistingOibs(List.of("12345678903", "11111111119")));
+        assertEquals(2, clientRepository.countPerCardStatus().size());
+        assertEquals(CardStatus.ACTIVE, clientRepository.findByOib("69581124674").getCardStatus());
+        assertEquals(List.of("12345678903", "98765432106"), clientRepository.findByCardStatusAndIdGreaterThanOrderByIdAsc(
+                CardStatus.ACCEPTED, Long.MIN_VALUE, PageRequest.ofSize(10)).stream().map(ClientView::getOib).toList());
+        assertEquals(List.of(CardStatus.ACTIVE), clientRepository.lockCardStatuses(List.of("69581124674", "11111111119")));
+        assertEquals(1, clientRepository.deleteByOib("69581124674"));
+        assertEquals(2, clientRepository.deleteByOibIn(List.of("12345678903", "98765432106", "11111111119")));
+        assertEquals(0, clientRepository.count());
+    }
+
+    @Test
+    void migratedSchemaRejectsDuplicateOibTest() {
+        clientRepository.saveAndFlush(client("12345678903", CardStatus.ACCEPTED));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> clientRepository.saveAndFlush(client("12345678903", CardStatus.PENDING)));
+    }
+
+    private static Client client(final String oib, final CardStatus cardStatus) {
+        Client client = new Client();
+        client.setFirstName("Ana");
+        client.setLastName("Anić");
+        client.setOib(oib);
+        client.setCardStatus(cardStatus);
+        return client;
+    }
+}
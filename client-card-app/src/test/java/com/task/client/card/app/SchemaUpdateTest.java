@@ -0,0 +1,37 @@
+package com.task.client.card.app;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.WebClientAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Lets Hibernate update a client table created before {@code card_status_changed_at} existed, as the default H2
+ * profile does with {@code ddl-auto=update}.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:legacy;INIT=RUNSCRIPT FROM 'classpath:db/legacy-client.sql'",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=update"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(WebClientAutoConfiguration.class)
+public class SchemaUpdateTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void addedChangedAtColumnIsBackfilledTest() {
+        assertNotNull(jdbcTemplate.queryForObject("select card_status_changed_at from client where id = 1", Timestamp.class));
+    }
+}
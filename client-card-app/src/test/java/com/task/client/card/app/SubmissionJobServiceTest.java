@@ -0,0 +1,113 @@
+package com.task.client.card.app;
+
+import com.task.client.card.app.dto.CardSubmissionResult;
+import com.task.client.card.app.dto.ClientView;
+import com.task.client.card.app.dto.SubmissionJob;
+import com.task.client.card.app.enums.CardStatus;
+import com.task.client.card.app.enums.JobState;
+import com.task.client.card.app.enums.SubmissionOutcome;
+import com.task.client.card.app.service.CardSubmissionService;
+import com.task.client.card.app.service.SubmissionJobService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.TaskRejectedException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+public class SubmissionJobServiceTest {
+
+    @Mock
+    private CardSubmissionService cardSubmissionService;
+
+    private SubmissionJobService submissionJobService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        submissionJobService = new SubmissionJobService(cardSubmissionService, new SimpleMeterRegistry(), 1, 1,
+                Duration.ofSeconds(5), Duration.ofMinutes(1), 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        submissionJobService.shutdown();
+    }
+
+    @Test
+    void jobCompletesWithResultTest() throws InterruptedException {
+        when(cardSubmissionService.submit(any())).thenReturn(Mono.just(
+                new CardSubmissionResult("12345678903", SubmissionOutcome.SENT, "New card request successfully created.")));
+
+        SubmissionJob job = submissionJobService.enqueue(client());
+
+        assertEquals(JobState.QUEUED, job.getState());
+        SubmissionJob done = awaitDone(job.getId());
+        assertEquals(SubmissionOutcome.SENT, done.getResult().getOutcome());
+        assertTrue(done.getCompletedAt() != null);
+        assertNull(submissionJobService.find("unknown"));
+    }
+
+    @Test
+    void enqueueRefusedWhenQueueIsFullTest() throws InterruptedException {
+        Sinks.One<CardSubmissionResult> release = Sinks.one();
+        when(cardSubmissionService.submit(any())).thenReturn(release.asMono());
+
+        SubmissionJob running = submissionJobService.enqueue(client());
+        SubmissionJob queued = submissionJobService.enqueue(client());
+
+        assertThrows(TaskRejectedException.class, () -> submissionJobService.enqueue(client()));
+        assertEquals(JobState.RUNNING, submissionJobService.find(running.getId()).getState());
+        assertEquals(JobState.QUEUED, submissionJobService.find(queued.getId()).getState());
+
+        release.tryEmitValue(new CardSubmissionResult("12345678903", SubmissionOutcome.SENT, "ok"));
+        assertEquals(SubmissionOutcome.SENT, awaitDone(running.getId()).getResult().getOutcome());
+        assertEquals(SubmissionOutcome.SENT, awaitDone(queued.getId()).getResult().getOutcome());
+    }
+
+    @Test
+    void timedOutJobKeepsRunningAndCompletesWithItsOutcomeTest() throws InterruptedException {
+        submissionJobService.shutdown();
+        submissionJobService = new SubmissionJobService(cardSubmissionService, new SimpleMeterRegistry(), 1, 1,
+                Duration.ofMillis(100), Duration.ofMinutes(1), 100);
+        Sinks.One<CardSubmissionResult> slowCall = Sinks.one();
+        when(cardSubmissionService.submit(any())).thenReturn(slowCall.asMono(), Mono.just(
+                new CardSubmissionResult("12345678903", SubmissionOutcome.SENT, "ok")));
+
+        SubmissionJob slow = submissionJobService.enqueue(client());
+        SubmissionJob next = submissionJobService.enqueue(client());
+
+        assertEquals(SubmissionOutcome.SENT, awaitDone(next.getId()).getResult().getOutcome());
+        assertEquals(JobState.RUNNING, submissionJobService.find(slow.getId()).getState());
+
+        slowCall.tryEmitValue(new CardSubmissionResult("12345678903", SubmissionOutcome.REJECTED, "Invalid request."));
+        assertEquals(SubmissionOutcome.REJECTED, awaitDone(slow.getId()).getResult().getOutcome());
+    }
+
+    private SubmissionJob awaitDone(final String id) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            SubmissionJob job = submissionJobService.find(id);
+            if (job.getState() == JobState.DONE) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Job " + id + " did not complete");
+    }
+
+    private static ClientView client() {
+        return new ClientView(1L, "Ana", "Anić", "12345678903", CardStatus.ACCEPTED, 0L);
+    }
+}
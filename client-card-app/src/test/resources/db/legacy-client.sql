@@ -0,0 +1,6 @@
+-- Client table as created by ddl-auto=update before card_status_changed_at existed, with one stored client.
+create sequence if not exists client_seq start with 1 increment by 100;
+create table if not exists client (id bigint not null, first_name varchar(50) not null, last_name varchar(50) not null,
+    oib varchar(11) not null unique, card_status varchar(20), version bigint default 0 not null, primary key (id));
+merge into client (id, first_name, last_name, oib, card_status, version) key (id)
+    values (1, 'Ana', 'Anic', '69581124674', 'ACTIVE', 0);